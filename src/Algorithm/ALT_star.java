@@ -0,0 +1,94 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// A* guided by landmark lower bounds (ALT) instead of Manhattan distance.
+// The LandmarkTable is built once per map and shared by every query on it.
+public class ALT_star implements PathSolver {
+    private int[][] GRID;
+    private int ROWS, COLS;
+    private int[] START, GOAL;
+    private LandmarkTable LANDMARKS;
+
+    public ALT_star(int[][] grid, int rows, int cols, int[] start, int[] goal, LandmarkTable landmarks) {
+        if (landmarks.getRows() != rows || landmarks.getCols() != cols)
+            throw new IllegalArgumentException("Landmark table was built for a different map size");
+        this.GRID = grid;
+        this.ROWS = rows;
+        this.COLS = cols;
+        this.START = start;
+        this.GOAL = goal;
+        this.LANDMARKS = landmarks;
+    }
+
+    public A_star.Result run() {
+        long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+
+        int cells = ROWS * COLS;
+        int[] gScores = new int[cells];
+        int[] parent = new int[cells];
+        Arrays.fill(gScores, Integer.MAX_VALUE);
+
+        int startCell = START[0] * COLS + START[1];
+        int goalCell = GOAL[0] * COLS + GOAL[1];
+
+        IndexedMinHeap open = new IndexedMinHeap(cells);
+        gScores[startCell] = 0;
+        parent[startCell] = -1;
+        open.pushOrDecrease(startCell, LANDMARKS.lowerBound(startCell, goalCell));
+
+        int visitedCount = 0;
+        boolean found = false;
+
+        long searchStart = System.nanoTime();
+        while (!open.isEmpty()) {
+            int curr = open.pop();
+            visitedCount++;
+
+            if (curr == goalCell) {
+                found = true;
+                break;
+            }
+
+            int r = curr / COLS;
+            int c = curr % COLS;
+            int g = gScores[curr];
+
+            for (int d = 0; d < 4; d++) {
+                int nr = r, nc = c;
+                if (d == 0) nr--;
+                else if (d == 1) nr++;
+                else if (d == 2) nc--;
+                else nc++;
+
+                if (nr >= 0 && nr < ROWS && nc >= 0 && nc < COLS && GRID[nr][nc] != -1) {
+                    int next = nr * COLS + nc;
+                    int newG = g + GRID[nr][nc];
+                    if (newG < gScores[next]) {
+                        gScores[next] = newG;
+                        parent[next] = curr;
+                        open.pushOrDecrease(next, newG + LANDMARKS.lowerBound(next, goalCell));
+                    }
+                }
+            }
+        }
+
+        long reconstructStart = System.nanoTime();
+        A_star.Result res = new A_star.Result();
+        res.visitedCount = visitedCount;
+        res.recordHeap(open);
+
+        if (found) {
+            res.success = true;
+            res.cost = gScores[goalCell];
+            res.path = GridPath.fromParents(parent, goalCell, COLS);
+        } else {
+            res.success = false;
+            res.path = GridPath.EMPTY;
+        }
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+        return res;
+    }
+}
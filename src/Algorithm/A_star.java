@@ -2,7 +2,7 @@ package Algorithm;
 
 import java.util.*;
 
-public class A_star {
+public class A_star implements PathSolver {
     private int[][] GRID;
     private int ROWS, COLS;
     private int[] START, GOAL;
@@ -16,12 +16,7 @@ public class A_star {
         this.GOAL = goal;
     }
 
-    public static class Result {
-        public boolean success;
-        public int cost;
-        public List<int[]> path;
-        public int visitedCount;
-        public double timeTaken;
+    public static class Result extends SolverResult {
     }
 
     private class Node implements Comparable<Node> {
@@ -44,6 +39,7 @@ public class A_star {
 
     public Result run() {
         long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
 
         PriorityQueue<Node> pq = new PriorityQueue<>();
         pq.add(new Node(START[0], START[1], 0, heuristic(START[0], START[1]), null));
@@ -55,7 +51,10 @@ public class A_star {
 
         int visitedCount = 0;
         Node finalNode = null;
+        long pushes = 1, staleSkips = 0;
+        int peakFrontier = 1;
 
+        long searchStart = System.nanoTime();
         while (!pq.isEmpty()) {
             Node curr = pq.poll();
             visitedCount++;
@@ -65,8 +64,10 @@ public class A_star {
                 break;
             }
 
-            if (curr.g > gScores[curr.r][curr.c])
+            if (curr.g > gScores[curr.r][curr.c]) {
+                staleSkips++;
                 continue;
+            }
 
             for (int[] m : MOVES) {
                 int nr = curr.r + m[0];
@@ -78,29 +79,39 @@ public class A_star {
                         gScores[nr][nc] = newG;
                         int newF = newG + heuristic(nr, nc);
                         pq.add(new Node(nr, nc, newG, newF, curr));
+                        pushes++;
+                        if (pq.size() > peakFrontier)
+                            peakFrontier = pq.size();
                     }
                 }
             }
         }
 
-        long endTime = System.nanoTime();
+        long reconstructStart = System.nanoTime();
         Result res = new Result();
-        res.timeTaken = (endTime - startTime) / 1e9;
         res.visitedCount = visitedCount;
+        res.heapPushes = pushes;
+        res.heapPops = visitedCount;
+        res.staleSkips = staleSkips;
+        res.peakFrontier = peakFrontier;
 
         if (finalNode != null) {
             res.success = true;
             res.cost = finalNode.g;
-            res.path = new ArrayList<>();
-            Node temp = finalNode;
-            while (temp != null) {
-                res.path.add(0, new int[] { temp.r, temp.c });
-                temp = temp.parent;
-            }
+            // Count first, then fill back to front: O(length) instead of prepending
+            int length = 0;
+            for (Node temp = finalNode; temp != null; temp = temp.parent)
+                length++;
+            int[] cells = new int[length];
+            for (Node temp = finalNode; temp != null; temp = temp.parent)
+                cells[--length] = temp.r * COLS + temp.c;
+            res.path = GridPath.wrap(cells, COLS);
         } else {
             res.success = false;
-            res.path = new ArrayList<>();
+            res.path = GridPath.EMPTY;
         }
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
         return res;
     }
 
@@ -0,0 +1,194 @@
+package Algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Answers many (start, goal) queries against one loaded grid. Queries that share a start
+// are served by a single Dijkstra run that stops once all of their goals are settled.
+// Source groups run on a worker pool; each worker reuses one set of stamped scratch arrays.
+public class BatchPathSolver {
+    private int[][] GRID;
+    private int ROWS, COLS;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    public BatchPathSolver(int[][] grid, int rows, int cols) {
+        this.GRID = grid;
+        this.ROWS = rows;
+        this.COLS = cols;
+    }
+
+    public void setThreads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Need at least one thread: " + threads);
+        this.threads = threads;
+    }
+
+    public static class BatchResult {
+        public List<Dijkstra.Result> results; // same order as the queries
+        public int queries;
+        public int sourceGroups;
+        public int threads;
+        public long totalVisited;
+        public double timeTaken;
+        public double queriesPerSecond;
+    }
+
+    public BatchResult solve(List<int[]> starts, List<int[]> goals) {
+        if (starts.size() != goals.size())
+            throw new IllegalArgumentException("Got " + starts.size() + " starts but " + goals.size() + " goals");
+        long startTime = System.nanoTime();
+        int n = starts.size();
+
+        // Group query indices by start cell, keeping first-seen order
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            int cell = starts.get(i)[0] * COLS + starts.get(i)[1];
+            groups.computeIfAbsent(cell, k -> new ArrayList<>()).add(i);
+        }
+
+        Dijkstra.Result[] results = new Dijkstra.Result[n];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Map.Entry<Integer, List<Integer>> group : groups.entrySet()) {
+                futures.add(executor.submit(
+                        () -> scratch.get().solveGroup(group.getKey(), group.getValue(), goals, results)));
+            }
+            for (Future<?> f : futures)
+                f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch query failed: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BatchResult batch = new BatchResult();
+        batch.results = Arrays.asList(results);
+        batch.queries = n;
+        batch.sourceGroups = groups.size();
+        batch.threads = threads;
+        for (Dijkstra.Result r : results)
+            batch.totalVisited += r.visitedCount;
+        batch.timeTaken = (System.nanoTime() - startTime) / 1e9;
+        batch.queriesPerSecond = batch.timeTaken > 0 ? n / batch.timeTaken : 0;
+        return batch;
+    }
+
+    // Per-worker search state; stamp[cell] == generation marks dist/parent as valid
+    private class Scratch {
+        final int[] dist = new int[ROWS * COLS];
+        final int[] parent = new int[ROWS * COLS];
+        final int[] stamp = new int[ROWS * COLS];
+        final int[] targetStamp = new int[ROWS * COLS];
+        final int[] doneStamp = new int[ROWS * COLS];
+        final int[] settledAt = new int[ROWS * COLS]; // pops up to and including this target
+        final int[] pushedAt = new int[ROWS * COLS]; // heap pushes when this target was settled
+        final int[] peakAt = new int[ROWS * COLS]; // heap peak when this target was settled
+        final IndexedMinHeap heap = new IndexedMinHeap(ROWS * COLS);
+        int generation;
+
+        void solveGroup(int source, List<Integer> queryIds, List<int[]> goals, Dijkstra.Result[] out) {
+            long startTime = System.nanoTime();
+            int gen = nextGeneration();
+
+            // Mark the distinct goals of this group. Walls are never entered, so they are skipped,
+            // except when goal == start (settled first, like Dijkstra.run)
+            int remaining = 0;
+            for (int q : queryIds) {
+                int[] g = goals.get(q);
+                int cell = g[0] * COLS + g[1];
+                if ((GRID[g[0]][g[1]] != -1 || cell == source) && targetStamp[cell] != gen) {
+                    targetStamp[cell] = gen;
+                    remaining++;
+                }
+            }
+
+            int visited = 0;
+            heap.resetCounters();
+            if (remaining > 0) {
+                stamp[source] = gen;
+                dist[source] = 0;
+                parent[source] = -1;
+                heap.pushOrDecrease(source, 0);
+            }
+
+            while (remaining > 0 && !heap.isEmpty()) {
+                int curr = heap.pop();
+                visited++;
+                if (targetStamp[curr] == gen && doneStamp[curr] != gen) {
+                    doneStamp[curr] = gen;
+                    settledAt[curr] = visited;
+                    pushedAt[curr] = (int) heap.getPushes();
+                    peakAt[curr] = heap.getPeakSize();
+                    remaining--;
+                }
+
+                int r = curr / COLS;
+                int c = curr % COLS;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r, nc = c;
+                    if (d == 0) nr--;
+                    else if (d == 1) nr++;
+                    else if (d == 2) nc--;
+                    else nc++;
+                    if (nr < 0 || nr >= ROWS || nc < 0 || nc >= COLS || GRID[nr][nc] == -1)
+                        continue;
+                    int next = nr * COLS + nc;
+                    int newDist = dist[curr] + GRID[nr][nc];
+                    if (stamp[next] != gen || newDist < dist[next]) {
+                        stamp[next] = gen;
+                        dist[next] = newDist;
+                        parent[next] = curr;
+                        heap.pushOrDecrease(next, newDist);
+                    }
+                }
+            }
+            heap.clear();
+
+            // Each query reports the shared search up to the moment its goal was settled
+            double elapsed = (System.nanoTime() - startTime) / 1e9;
+            for (int i = 0; i < queryIds.size(); i++) {
+                int[] g = goals.get(queryIds.get(i));
+                int goalCell = g[0] * COLS + g[1];
+                Dijkstra.Result res = new Dijkstra.Result();
+                res.timeTaken = elapsed;
+                if (doneStamp[goalCell] == gen) {
+                    res.visitedCount = settledAt[goalCell];
+                    res.heapPushes = pushedAt[goalCell];
+                    res.heapPops = settledAt[goalCell];
+                    res.peakFrontier = peakAt[goalCell];
+                    res.success = true;
+                    res.cost = dist[goalCell];
+                    res.path = GridPath.fromParents(parent, goalCell, COLS);
+                } else {
+                    res.visitedCount = visited;
+                    res.recordHeap(heap);
+                    res.success = false;
+                    res.path = GridPath.EMPTY;
+                }
+                out[queryIds.get(i)] = res;
+            }
+        }
+
+        private int nextGeneration() {
+            if (++generation == 0) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(targetStamp, 0);
+                Arrays.fill(doneStamp, 0);
+                generation = 1;
+            }
+            return generation;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Searches from START and GOAL at the same time and stops once the two frontiers
+// prove the best meeting point. Moving into a cell costs that cell's weight, so the
+// backward search charges a cell's weight when leaving it towards the goal.
+//
+// A_STAR mode uses the average of the forward and backward Manhattan potentials,
+// which keeps both searches consistent with weighted cells; DIJKSTRA mode uses none.
+public class BidirectionalSearch implements PathSolver {
+
+    public enum Mode {
+        DIJKSTRA, A_STAR
+    }
+
+    private int[][] GRID;
+    private int ROWS, COLS;
+    private int[] START, GOAL;
+    private Mode MODE;
+
+    public BidirectionalSearch(int[][] grid, int rows, int cols, int[] start, int[] goal, Mode mode) {
+        this.GRID = grid;
+        this.ROWS = rows;
+        this.COLS = cols;
+        this.START = start;
+        this.GOAL = goal;
+        this.MODE = mode;
+    }
+
+    // visitedCount is the sum of both sides
+    public static class Result extends A_star.Result {
+        public int forwardVisited;
+        public int backwardVisited;
+    }
+
+    public Result run() {
+        long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+
+        int cells = ROWS * COLS;
+        int startCell = START[0] * COLS + START[1];
+        int goalCell = GOAL[0] * COLS + GOAL[1];
+
+        // Manhattan distance is only a lower bound when every step costs at least 1
+        boolean useHeuristic = MODE == Mode.A_STAR && minWeight() >= 1;
+
+        int[] distF = new int[cells], distB = new int[cells];
+        int[] parentF = new int[cells], parentB = new int[cells];
+        Arrays.fill(distF, Integer.MAX_VALUE);
+        Arrays.fill(distB, Integer.MAX_VALUE);
+
+        IndexedMinHeap openF = new IndexedMinHeap(cells);
+        IndexedMinHeap openB = new IndexedMinHeap(cells);
+
+        // Keys are doubled so the averaged potential (hF - hB) / 2 stays an integer
+        distF[startCell] = 0;
+        parentF[startCell] = -1;
+        openF.pushOrDecrease(startCell, potential(startCell, useHeuristic));
+        distB[goalCell] = 0;
+        parentB[goalCell] = -1;
+        openB.pushOrDecrease(goalCell, -potential(goalCell, useHeuristic));
+
+        int best = startCell == goalCell ? 0 : Integer.MAX_VALUE;
+        int meet = startCell == goalCell ? startCell : -1;
+        int visitedF = 0, visitedB = 0;
+        int peakFrontier = 0;
+
+        long searchStart = System.nanoTime();
+        while (!openF.isEmpty() && !openB.isEmpty()) {
+            // Stop: no path through unsettled cells can beat the best meeting found
+            if (best != Integer.MAX_VALUE && openF.peekKey() + openB.peekKey() >= 2L * best)
+                break;
+
+            peakFrontier = Math.max(peakFrontier, openF.size() + openB.size());
+            boolean forward = openF.size() <= openB.size();
+            IndexedMinHeap open = forward ? openF : openB;
+            int[] dist = forward ? distF : distB;
+            int[] other = forward ? distB : distF;
+            int[] parent = forward ? parentF : parentB;
+
+            int curr = open.pop();
+            if (forward)
+                visitedF++;
+            else
+                visitedB++;
+
+            int r = curr / COLS;
+            int c = curr % COLS;
+
+            for (int d = 0; d < 4; d++) {
+                int nr = r, nc = c;
+                if (d == 0) nr--;
+                else if (d == 1) nr++;
+                else if (d == 2) nc--;
+                else nc++;
+
+                if (nr < 0 || nr >= ROWS || nc < 0 || nc >= COLS || GRID[nr][nc] == -1)
+                    continue;
+
+                int next = nr * COLS + nc;
+                // Forward pays for entering next; backward pays for entering curr from next
+                int newDist = dist[curr] + (forward ? GRID[nr][nc] : GRID[r][c]);
+                if (newDist < dist[next]) {
+                    dist[next] = newDist;
+                    parent[next] = curr;
+                    int p = potential(next, useHeuristic);
+                    open.pushOrDecrease(next, 2 * newDist + (forward ? p : -p));
+
+                    if (other[next] != Integer.MAX_VALUE && newDist + other[next] < best) {
+                        best = newDist + other[next];
+                        meet = next;
+                    }
+                }
+            }
+        }
+
+        long reconstructStart = System.nanoTime();
+        Result res = new Result();
+        res.recordHeap(openF);
+        res.recordHeap(openB);
+        // Combined size of both frontiers, not the larger of the two per-heap peaks
+        res.peakFrontier = peakFrontier;
+        res.forwardVisited = visitedF;
+        res.backwardVisited = visitedB;
+        res.visitedCount = visitedF + visitedB;
+
+        if (meet != -1) {
+            res.success = true;
+            res.cost = best;
+            res.path = joinPath(parentF, parentB, meet);
+        } else {
+            res.success = false;
+            res.path = GridPath.EMPTY;
+        }
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+        return res;
+    }
+
+    // hF - hB: doubled average potential of the forward search (negated for the backward one)
+    private int potential(int cell, boolean useHeuristic) {
+        if (!useHeuristic)
+            return 0;
+        int r = cell / COLS;
+        int c = cell % COLS;
+        int toGoal = Math.abs(r - GOAL[0]) + Math.abs(c - GOAL[1]);
+        int toStart = Math.abs(r - START[0]) + Math.abs(c - START[1]);
+        return toGoal - toStart;
+    }
+
+    private int minWeight() {
+        int min = Integer.MAX_VALUE;
+        for (int[] row : GRID)
+            for (int w : row)
+                if (w != -1 && w < min)
+                    min = w;
+        return min;
+    }
+
+    // START .. meet from the forward tree, then meet .. GOAL from the backward tree
+    private GridPath joinPath(int[] parentF, int[] parentB, int meet) {
+        GridPath.Builder path = new GridPath.Builder(COLS).addChain(parentF, meet);
+        for (int cell = parentB[meet]; cell != -1; cell = parentB[cell])
+            path.add(cell);
+        return path.build();
+    }
+}
@@ -0,0 +1,183 @@
+package Algorithm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Binary maze file (.mzb): a fixed header followed by one byte per cell, row by row.
+//
+//   int  magic      "MZB1"
+//   int  version
+//   int  rows, cols
+//   int  startRow, startCol, goalRow, goalCol   (-1 when the marker is missing)
+//   long checksum   CRC32 of the cell bytes
+//   byte cells[rows * cols]   weight 0..254, WALL_BYTE for walls
+//
+// open() memory-maps the file and reads only the header. toMapData() then decodes every
+// cell into the int[][] the solvers use, checking the checksum on the way. The format
+// removes text parsing; the decoded grid takes as much heap as one parsed from text
+// (four bytes per cell), since every solver works on int[][].
+public class BinaryMaze {
+
+    public static final String EXTENSION = ".mzb";
+    public static final int MAGIC = 0x4D5A4231; // "MZB1"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 40;
+    public static final int WALL_BYTE = 0xFF;
+    public static final int MAX_WEIGHT = 254;
+
+    private final File file;
+    private final MappedByteBuffer cells;
+    private final int rows, cols;
+    private final int[] start, goal;
+    private final long checksum;
+
+    private BinaryMaze(File file, MappedByteBuffer cells, int rows, int cols, int[] start, int[] goal,
+            long checksum) {
+        this.file = file;
+        this.cells = cells;
+        this.rows = rows;
+        this.cols = cols;
+        this.start = start;
+        this.goal = goal;
+        this.checksum = checksum;
+    }
+
+    public static boolean isBinary(File file) {
+        return file.getName().toLowerCase().endsWith(EXTENSION);
+    }
+
+    public static BinaryMaze open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES)
+                throw new IOException("Not a binary maze (too short): " + file);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0)
+                    throw new IOException("Truncated binary maze header: " + file);
+            }
+            header.flip();
+            if (header.getInt() != MAGIC)
+                throw new IOException("Not a binary maze (bad magic): " + file);
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported binary maze version " + version + ": " + file);
+            int rows = header.getInt();
+            int cols = header.getInt();
+            int[] start = readCell(header);
+            int[] goal = readCell(header);
+            long checksum = header.getLong();
+
+            if (rows < 0 || cols < 0 || size != HEADER_BYTES + (long) rows * cols)
+                throw new IOException("Binary maze size does not match its header: " + file);
+
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer cells = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                    (long) rows * cols);
+            return new BinaryMaze(file, cells, rows, cols, start, goal, checksum);
+        }
+    }
+
+    private static int[] readCell(ByteBuffer header) {
+        int r = header.getInt();
+        int c = header.getInt();
+        return r < 0 ? null : new int[] { r, c };
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int[] getStart() {
+        return start == null ? null : start.clone();
+    }
+
+    public int[] getGoal() {
+        return goal == null ? null : goal.clone();
+    }
+
+    public boolean verifyChecksum() {
+        CRC32 crc = new CRC32();
+        crc.update(cells.duplicate());
+        return crc.getValue() == checksum;
+    }
+
+    // Decodes into a primitive grid, failing if the cells do not match the checksum
+    public MapLoader.MapData toMapData() throws IOException {
+        long startTime = System.nanoTime();
+        MapLoader.MapData map = new MapLoader.MapData();
+        map.rows = rows;
+        map.cols = cols;
+        map.start = getStart();
+        map.goal = getGoal();
+        map.grid = new int[rows][cols];
+
+        ByteBuffer src = cells.duplicate();
+        CRC32 crc = new CRC32();
+        byte[] row = new byte[cols];
+        for (int r = 0; r < rows; r++) {
+            src.get(row);
+            crc.update(row, 0, cols);
+            int[] dst = map.grid[r];
+            for (int c = 0; c < cols; c++) {
+                int b = row[c] & 0xFF;
+                dst[c] = b == WALL_BYTE ? -1 : b;
+            }
+        }
+        if (crc.getValue() != checksum)
+            throw new IOException("Binary maze checksum mismatch: " + file);
+
+        map.bytesRead = HEADER_BYTES + (long) rows * cols;
+        map.loadTime = (System.nanoTime() - startTime) / 1e9;
+        return map;
+    }
+
+    // Writes map in binary form; weights above MAX_WEIGHT cannot be stored in one byte
+    public static void write(MapLoader.MapData map, File file) throws IOException {
+        long cellCount = (long) map.rows * map.cols;
+        if (cellCount > Integer.MAX_VALUE - HEADER_BYTES)
+            throw new IllegalArgumentException(
+                    "Map too large for one binary maze file: " + map.rows + "x" + map.cols);
+
+        byte[] cells = new byte[(int) cellCount];
+        for (int r = 0; r < map.rows; r++) {
+            for (int c = 0; c < map.cols; c++) {
+                int w = map.grid[r][c];
+                if (w < -1 || w > MAX_WEIGHT)
+                    throw new IllegalArgumentException("Weight " + w + " at " + r + "," + c
+                            + " does not fit the binary format (max " + MAX_WEIGHT + ")");
+                cells[r * map.cols + c] = (byte) (w == -1 ? WALL_BYTE : w);
+            }
+        }
+        write(map.rows, map.cols, cells, map.start, map.goal, file);
+    }
+
+    // Cells already encoded one byte each, e.g. by MazeGenerator
+    static void write(int rows, int cols, byte[] cells, int[] start, int[] goal, File file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(cells, 0, cells.length);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols);
+        header.putInt(start == null ? -1 : start[0]).putInt(start == null ? -1 : start[1]);
+        header.putInt(goal == null ? -1 : goal[0]).putInt(goal == null ? -1 : goal[1]);
+        header.putLong(crc.getValue());
+
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.setLength(0);
+            out.write(header.array());
+            out.write(cells);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Dijkstra on Dial's bucket queue for small integer weights. Same inputs and Result as Dijkstra.
+//
+// The frontier is a BucketQueue, so push, decrease-key and pop are O(1); the scan over
+// empty buckets adds at most the final path cost. Zero-weight cells are fine.
+public class BucketDijkstra implements PathSolver {
+
+    // Above this the bucket array and the empty-bucket scan stop paying off; see select()
+    public static final int MAX_BUCKET_WEIGHT = 1024;
+
+    private static final int NONE = BucketQueue.NONE;
+
+    private int[][] GRID;
+    private int ROWS, COLS;
+    private int[] START, GOAL;
+
+    public BucketDijkstra(int[][] grid, int rows, int cols, int[] start, int[] goal) {
+        this.GRID = grid;
+        this.ROWS = rows;
+        this.COLS = cols;
+        this.START = start;
+        this.GOAL = goal;
+    }
+
+    // Bucket queue when the largest weight is small, indexed binary heap otherwise
+    public static PathSolver select(int[][] grid, int rows, int cols, int[] start, int[] goal) {
+        if (maxWeight(grid) <= MAX_BUCKET_WEIGHT)
+            return new BucketDijkstra(grid, rows, cols, start, goal);
+        return new IndexedDijkstra(grid, rows, cols, start, goal);
+    }
+
+    public static int maxWeight(int[][] grid) {
+        int max = 0;
+        for (int[] row : grid)
+            for (int w : row)
+                if (w > max)
+                    max = w;
+        return max;
+    }
+
+    public Dijkstra.Result run() {
+        long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+
+        int cells = ROWS * COLS;
+        BucketQueue queue = new BucketQueue(cells, maxWeight(GRID));
+        int[] minCosts = new int[cells];
+        int[] parent = new int[cells];
+        boolean[] settled = new boolean[cells];
+        Arrays.fill(minCosts, Integer.MAX_VALUE);
+
+        int startCell = START[0] * COLS + START[1];
+        int goalCell = GOAL[0] * COLS + GOAL[1];
+
+        minCosts[startCell] = 0;
+        parent[startCell] = NONE;
+        queue.push(startCell, 0);
+        int queued = 1;
+        long pushes = 1;
+        int peakFrontier = 1;
+        int current = 0;
+
+        int visitedCount = 0;
+        boolean found = false;
+
+        long searchStart = System.nanoTime();
+        while (queued > 0) {
+            int curr = queue.head(current);
+            if (curr == NONE) {
+                current++;
+                continue;
+            }
+            queue.unlink(curr, current);
+            queued--;
+            settled[curr] = true;
+            visitedCount++;
+
+            if (curr == goalCell) {
+                found = true;
+                break;
+            }
+
+            int r = curr / COLS;
+            int c = curr % COLS;
+            int cost = minCosts[curr];
+
+            for (int d = 0; d < 4; d++) {
+                int nr = r, nc = c;
+                if (d == 0) nr--;
+                else if (d == 1) nr++;
+                else if (d == 2) nc--;
+                else nc++;
+
+                if (nr < 0 || nr >= ROWS || nc < 0 || nc >= COLS || GRID[nr][nc] == -1)
+                    continue;
+
+                int nb = nr * COLS + nc;
+                if (settled[nb])
+                    continue;
+                int newCost = cost + GRID[nr][nc];
+                if (newCost >= minCosts[nb])
+                    continue;
+
+                if (minCosts[nb] == Integer.MAX_VALUE)
+                    queued++;
+                else
+                    queue.unlink(nb, minCosts[nb]); // decrease-key
+                minCosts[nb] = newCost;
+                parent[nb] = curr;
+                queue.push(nb, newCost);
+                pushes++;
+                if (queued > peakFrontier)
+                    peakFrontier = queued;
+            }
+        }
+
+        long reconstructStart = System.nanoTime();
+        Dijkstra.Result res = new Dijkstra.Result();
+        res.visitedCount = visitedCount;
+        res.heapPushes = pushes;
+        res.heapPops = visitedCount;
+        res.peakFrontier = peakFrontier;
+
+        if (found) {
+            res.success = true;
+            res.cost = minCosts[goalCell];
+            res.path = GridPath.fromParents(parent, goalCell, COLS);
+        } else {
+            res.success = false;
+            res.path = GridPath.EMPTY;
+        }
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+        return res;
+    }
+}
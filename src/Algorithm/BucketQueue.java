@@ -0,0 +1,57 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Dial's bucket queue over grid cells. Every queued cost lies in [current, current + maxWeight],
+// so maxWeight + 1 circular buckets indexed by cost hold the whole frontier. Each bucket is a
+// doubly linked list threaded through the cells, which makes push and unlink O(1).
+//
+// The queue does not store costs: callers pass a cell's cost to push() and the same cost to
+// unlink(), and scan head() upwards from the last popped cost.
+class BucketQueue {
+
+    static final int NONE = -1;
+
+    private final int numBuckets;
+    private final int[] bucketHead;
+    private final int[] next, prev;
+
+    BucketQueue(int cells, int maxWeight) {
+        this.numBuckets = maxWeight + 1;
+        this.bucketHead = new int[numBuckets];
+        this.next = new int[cells];
+        this.prev = new int[cells];
+        Arrays.fill(bucketHead, NONE);
+    }
+
+    void clear() {
+        Arrays.fill(bucketHead, NONE);
+    }
+
+    // Some cell queued with this cost, or NONE
+    int head(int cost) {
+        return bucketHead[cost % numBuckets];
+    }
+
+    void push(int cell, int cost) {
+        int bucket = cost % numBuckets;
+        int head = bucketHead[bucket];
+        prev[cell] = NONE;
+        next[cell] = head;
+        if (head != NONE)
+            prev[head] = cell;
+        bucketHead[bucket] = cell;
+    }
+
+    // cost must be the one the cell was pushed with
+    void unlink(int cell, int cost) {
+        int p = prev[cell];
+        int n = next[cell];
+        if (p != NONE)
+            next[p] = n;
+        else
+            bucketHead[cost % numBuckets] = n;
+        if (n != NONE)
+            prev[n] = p;
+    }
+}
@@ -0,0 +1,155 @@
+package Algorithm;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Connected components of the open cells (4-neighbour moves). Every weight is
+// non-negative, so a cell can reach another exactly when they share a label.
+public class ComponentLabels {
+
+    public static final int WALL = -1;
+    private static final int UNLABELLED = -2;
+
+    private final int cols;
+    private final int[] labels; // [cell] = component id, WALL for walls
+    private final int[] sizes; // [id] = open cells in the component
+
+    // Open cells grouped by component, built on the first randomCell() call:
+    // component id's cells are byComponent[componentStart[id] .. + sizes[id]]
+    private volatile int[] byComponent;
+    private int[] componentStart;
+
+    // Built by build() or read back by MapArtifactCache
+    ComponentLabels(int cols, int[] labels, int[] sizes) {
+        this.cols = cols;
+        this.labels = labels;
+        this.sizes = sizes;
+    }
+
+    // One flood fill per component; every open cell is queued exactly once
+    public static ComponentLabels build(int[][] grid, int rows, int cols) {
+        int cells = rows * cols;
+        int[] labels = new int[cells];
+        int[] queue = new int[cells];
+        IntList sizes = new IntList();
+
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                labels[r * cols + c] = grid[r][c] == -1 ? WALL : UNLABELLED;
+
+        for (int seed = 0; seed < cells; seed++) {
+            if (labels[seed] != UNLABELLED)
+                continue;
+            int id = sizes.size;
+            int head = 0, tail = 0;
+            labels[seed] = id;
+            queue[tail++] = seed;
+            while (head < tail) {
+                int curr = queue[head++];
+                int r = curr / cols;
+                int c = curr - r * cols;
+                if (r > 0 && labels[curr - cols] == UNLABELLED) {
+                    labels[curr - cols] = id;
+                    queue[tail++] = curr - cols;
+                }
+                if (r < rows - 1 && labels[curr + cols] == UNLABELLED) {
+                    labels[curr + cols] = id;
+                    queue[tail++] = curr + cols;
+                }
+                if (c > 0 && labels[curr - 1] == UNLABELLED) {
+                    labels[curr - 1] = id;
+                    queue[tail++] = curr - 1;
+                }
+                if (c < cols - 1 && labels[curr + 1] == UNLABELLED) {
+                    labels[curr + 1] = id;
+                    queue[tail++] = curr + 1;
+                }
+            }
+            sizes.add(tail);
+        }
+        return new ComponentLabels(cols, labels, sizes.toArray());
+    }
+
+    public int getComponentCount() {
+        return sizes.length;
+    }
+
+    public int label(int cell) {
+        return labels[cell];
+    }
+
+    public int label(int r, int c) {
+        return labels[r * cols + c];
+    }
+
+    public int componentSize(int label) {
+        return sizes[label];
+    }
+
+    // False when either cell is a wall
+    public boolean connected(int a, int b) {
+        return labels[a] != WALL && labels[a] == labels[b];
+    }
+
+    public boolean connected(int[] a, int[] b) {
+        return connected(a[0] * cols + a[1], b[0] * cols + b[1]);
+    }
+
+    // Uniform pick among the open cells of one component
+    public int randomCell(int label, SplittableRandom random) {
+        int[] cells = cellsByComponent();
+        return cells[componentStart[label] + random.nextInt(sizes[label])];
+    }
+
+    // Same solver when S and G share a component, otherwise one that fails without searching
+    public PathSolver guard(PathSolver solver, int[] start, int[] goal) {
+        if (start != null && goal != null && connected(start, goal))
+            return solver;
+        return new PathSolver() {
+            public SolverResult run() {
+                SolverResult res = new SolverResult();
+                res.success = false;
+                res.path = GridPath.EMPTY;
+                return res;
+            }
+
+            public String getName() {
+                return solver.getName();
+            }
+        };
+    }
+
+    // Counting sort of the open cells by label; shared by every thread sampling this map
+    private int[] cellsByComponent() {
+        int[] cells = byComponent;
+        if (cells != null)
+            return cells;
+        synchronized (this) {
+            if (byComponent == null) {
+                int[] offsets = new int[sizes.length + 1];
+                for (int id = 0; id < sizes.length; id++)
+                    offsets[id + 1] = offsets[id] + sizes[id];
+                int[] fill = Arrays.copyOf(offsets, sizes.length);
+                cells = new int[offsets[sizes.length]];
+                for (int cell = 0; cell < labels.length; cell++)
+                    if (labels[cell] != WALL)
+                        cells[fill[labels[cell]]++] = cell;
+                componentStart = offsets;
+                byComponent = cells;
+            }
+            return byComponent;
+        }
+    }
+
+    int[] labelArray() {
+        return labels;
+    }
+
+    int[] sizeArray() {
+        return sizes;
+    }
+
+    public long sizeInBytes() {
+        return (long) (labels.length + sizes.length) * Integer.BYTES;
+    }
+}
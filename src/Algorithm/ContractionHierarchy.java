@@ -0,0 +1,526 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Contraction hierarchy over the grid graph, for many point-to-point queries on one static map.
+//
+// The constructor contracts the open cells one at a time, cheapest first (edge difference plus
+// already-contracted neighbours). A node's priority is only recomputed when it reaches the top
+// of the queue; if it got worse the node goes back in. Contracting v adds a shortcut u -> x for
+// each pair of remaining neighbours whose only shortest connection runs through v; a bounded
+// witness search decides that. A query is then a bidirectional Dijkstra in which both sides
+// only move to higher-ranked nodes, so it settles a few hundred nodes instead of the whole map.
+//
+// Moving into a cell costs that cell's weight, so edges are directed. Costs are exact and match
+// Dijkstra; shortcuts remember the two edges they replace and are unpacked into cells.
+public class ContractionHierarchy {
+
+    // A witness search that hits its limit only costs a spare shortcut, never correctness
+    static final int WITNESS_SETTLE_LIMIT = 500;
+    static final int PRIORITY_SETTLE_LIMIT = 50; // cheaper estimate while ranking nodes
+    static final int EDGE_DIFFERENCE_WEIGHT = 2;
+
+    private static final int INF = Integer.MAX_VALUE;
+
+    private int[][] GRID;
+    private int ROWS, COLS;
+
+    private int numNodes;
+    private int[] nodeCell; // node -> cell
+    private int[] nodeOf; // cell -> node, -1 for walls
+    private int[] rank; // contraction order
+
+    // Original edges and shortcuts. A shortcut stores the two edges it replaces, -1 otherwise.
+    private int[] edgeFrom, edgeTo, edgeCost, edgeFirst, edgeSecond;
+    private int numShortcuts;
+
+    // Search graph in compressed sparse row form
+    private int[] upStart, upEdge; // edges u -> x with rank[x] > rank[u], grouped by u
+    private int[] downStart, downEdge; // edges y -> u with rank[y] > rank[u], grouped by u
+
+    private double preprocessTime;
+
+    // Query state is reused per thread, so a query allocates only its result
+    private final ThreadLocal<Query> queries = ThreadLocal.withInitial(Query::new);
+
+    public ContractionHierarchy(int[][] grid, int rows, int cols) {
+        this.GRID = grid;
+        this.ROWS = rows;
+        this.COLS = cols;
+
+        long startTime = System.nanoTime();
+        preprocess();
+        preprocessTime = (System.nanoTime() - startTime) / 1e9;
+    }
+
+    public double getPreprocessTime() {
+        return preprocessTime;
+    }
+
+    public int getNodeCount() {
+        return numNodes;
+    }
+
+    public int getEdgeCount() {
+        return edgeFrom.length;
+    }
+
+    public int getShortcutCount() {
+        return numShortcuts;
+    }
+
+    // PREPROCESSING
+
+    // Working graph while contracting; dropped once the search graph is built
+    private IntList from, to, cost, first, second;
+    private IntList[] out, in;
+    private boolean[] contracted;
+    private int[] contractedNeighbours;
+    private WitnessSearch witness;
+
+    private void preprocess() {
+        nodeOf = new int[ROWS * COLS];
+        Arrays.fill(nodeOf, -1);
+        IntList cells = new IntList(16);
+        for (int r = 0; r < ROWS; r++)
+            for (int c = 0; c < COLS; c++)
+                if (GRID[r][c] != -1) {
+                    nodeOf[r * COLS + c] = cells.size;
+                    cells.add(r * COLS + c);
+                }
+        numNodes = cells.size;
+        nodeCell = cells.toArray();
+
+        // 1. Grid edges: u -> x costs the weight of x
+        from = new IntList(numNodes * 4);
+        to = new IntList(numNodes * 4);
+        cost = new IntList(numNodes * 4);
+        first = new IntList(numNodes * 4);
+        second = new IntList(numNodes * 4);
+        out = new IntList[numNodes];
+        in = new IntList[numNodes];
+        for (int u = 0; u < numNodes; u++) {
+            out[u] = new IntList(4);
+            in[u] = new IntList(4);
+        }
+        for (int u = 0; u < numNodes; u++) {
+            int cell = nodeCell[u];
+            int r = cell / COLS, c = cell % COLS;
+            for (int d = 0; d < 4; d++) {
+                int nr = r, nc = c;
+                if (d == 0) nr--;
+                else if (d == 1) nr++;
+                else if (d == 2) nc--;
+                else nc++;
+                if (nr >= 0 && nr < ROWS && nc >= 0 && nc < COLS && GRID[nr][nc] != -1)
+                    addEdge(u, nodeOf[nr * COLS + nc], GRID[nr][nc], -1, -1);
+            }
+        }
+
+        // 2. Node ordering with lazy updates, contracting as we go
+        contracted = new boolean[numNodes];
+        contractedNeighbours = new int[numNodes];
+        rank = new int[numNodes];
+        witness = new WitnessSearch(numNodes);
+        IndexedMinHeap order = new IndexedMinHeap(numNodes);
+        for (int v = 0; v < numNodes; v++)
+            order.pushOrDecrease(v, priority(v));
+
+        int nextRank = 0;
+        while (!order.isEmpty()) {
+            int v = order.pop();
+            long p = priority(v);
+            if (!order.isEmpty() && p > order.peekKey()) {
+                order.pushOrDecrease(v, p); // stale priority: try again later
+                continue;
+            }
+            contract(v, true);
+            contracted[v] = true;
+            rank[v] = nextRank++;
+
+            // Neighbours drop their edges to v so later scans only see remaining nodes
+            for (int i = 0; i < out[v].size; i++) {
+                int x = to.get(out[v].get(i));
+                if (!contracted[x])
+                    in[x].remove(out[v].get(i));
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                int u = from.get(in[v].get(i));
+                if (!contracted[u])
+                    out[u].remove(in[v].get(i));
+            }
+            for (int i = 0; i < out[v].size; i++)
+                touchNeighbour(to.get(out[v].get(i)), order);
+            for (int i = 0; i < in[v].size; i++)
+                touchNeighbour(from.get(in[v].get(i)), order);
+        }
+
+        // 3. Freeze the edges and split them into the upward and downward graphs
+        edgeFrom = from.toArray();
+        edgeTo = to.toArray();
+        edgeCost = cost.toArray();
+        edgeFirst = first.toArray();
+        edgeSecond = second.toArray();
+        from = to = cost = first = second = null;
+        out = in = null;
+        contracted = null;
+        contractedNeighbours = null;
+        witness = null;
+
+        upStart = new int[numNodes + 1];
+        downStart = new int[numNodes + 1];
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (rank[edgeTo[e]] > rank[edgeFrom[e]])
+                upStart[edgeFrom[e] + 1]++;
+            else
+                downStart[edgeTo[e] + 1]++;
+        }
+        for (int u = 0; u < numNodes; u++) {
+            upStart[u + 1] += upStart[u];
+            downStart[u + 1] += downStart[u];
+        }
+        upEdge = new int[upStart[numNodes]];
+        downEdge = new int[downStart[numNodes]];
+        int[] upFill = Arrays.copyOf(upStart, numNodes);
+        int[] downFill = Arrays.copyOf(downStart, numNodes);
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (rank[edgeTo[e]] > rank[edgeFrom[e]])
+                upEdge[upFill[edgeFrom[e]]++] = e;
+            else
+                downEdge[downFill[edgeTo[e]]++] = e;
+        }
+    }
+
+    // Only the contracted-neighbour term is bumped here; the edge difference is recomputed
+    // when u reaches the top of the queue, so no witness searches run per neighbour update
+    private void touchNeighbour(int u, IndexedMinHeap order) {
+        if (contracted[u])
+            return;
+        contractedNeighbours[u]++;
+        order.update(u, order.keyOf(u) + 1);
+    }
+
+    // Weighted edge difference of contracting v, plus how many of its neighbours are already gone
+    private long priority(int v) {
+        return (long) EDGE_DIFFERENCE_WEIGHT * contract(v, false) + contractedNeighbours[v];
+    }
+
+    // Returns shortcuts needed minus edges removed; adds the shortcuts when apply is set
+    private int contract(int v, boolean apply) {
+        int added = 0, removed = 0;
+        IntList ins = in[v], outs = out[v];
+
+        for (int i = 0; i < ins.size; i++) {
+            int e1 = ins.get(i);
+            int u = from.get(e1);
+            if (contracted[u])
+                continue;
+            removed++;
+
+            int limit = -1;
+            for (int j = 0; j < outs.size; j++) {
+                int x = to.get(outs.get(j));
+                if (!contracted[x] && x != u)
+                    limit = Math.max(limit, cost.get(e1) + cost.get(outs.get(j)));
+            }
+            if (limit == -1)
+                continue;
+
+            witness.run(u, v, limit, apply ? WITNESS_SETTLE_LIMIT : PRIORITY_SETTLE_LIMIT);
+            for (int j = 0; j < outs.size; j++) {
+                int e2 = outs.get(j);
+                int x = to.get(e2);
+                if (contracted[x] || x == u)
+                    continue;
+                int via = cost.get(e1) + cost.get(e2);
+                if (witness.distTo(x) <= via)
+                    continue; // a path avoiding v is at least as short
+                added++;
+                if (apply)
+                    addOrImprove(u, x, via, e1, e2);
+            }
+        }
+        for (int j = 0; j < outs.size; j++)
+            if (!contracted[to.get(outs.get(j))])
+                removed++;
+        return added - removed;
+    }
+
+    // Keeps at most one edge u -> x between remaining nodes
+    private void addOrImprove(int u, int x, int c, int e1, int e2) {
+        IntList outs = out[u];
+        for (int i = 0; i < outs.size; i++) {
+            int e = outs.get(i);
+            if (to.get(e) == x) {
+                if (c < cost.get(e)) {
+                    cost.set(e, c);
+                    first.set(e, e1);
+                    second.set(e, e2);
+                }
+                return;
+            }
+        }
+        addEdge(u, x, c, e1, e2);
+        numShortcuts++;
+    }
+
+    private void addEdge(int u, int x, int c, int e1, int e2) {
+        int e = from.size;
+        from.add(u);
+        to.add(x);
+        cost.add(c);
+        first.add(e1);
+        second.add(e2);
+        out[u].add(e);
+        in[x].add(e);
+    }
+
+    // Dijkstra from u among the remaining nodes, skipping the node being contracted
+    private class WitnessSearch {
+        private final int[] dist;
+        private final int[] seen;
+        private final IndexedMinHeap heap;
+        private int generation;
+
+        WitnessSearch(int n) {
+            dist = new int[n];
+            seen = new int[n];
+            heap = new IndexedMinHeap(n);
+        }
+
+        void run(int source, int skip, int limit, int maxSettled) {
+            generation++;
+            heap.clear();
+            seen[source] = generation;
+            dist[source] = 0;
+            heap.pushOrDecrease(source, 0);
+            int settled = 0;
+
+            while (!heap.isEmpty() && heap.peekKey() <= limit && settled < maxSettled) {
+                int u = heap.pop();
+                settled++;
+                IntList outs = out[u];
+                for (int i = 0; i < outs.size; i++) {
+                    int e = outs.get(i);
+                    int x = to.get(e);
+                    if (x == skip || contracted[x])
+                        continue;
+                    int nd = dist[u] + cost.get(e);
+                    if (seen[x] != generation || nd < dist[x]) {
+                        seen[x] = generation;
+                        dist[x] = nd;
+                        heap.pushOrDecrease(x, nd);
+                    }
+                }
+            }
+        }
+
+        // Tentative distances are real paths, so they are valid witnesses even when cut off
+        int distTo(int x) {
+            return seen[x] == generation ? dist[x] : INF;
+        }
+    }
+
+    // QUERY
+
+    // One start/goal pair as a PathSolver; every solver made here shares this preprocessing
+    public PathSolver solver(int[] start, int[] goal) {
+        return new PathSolver() {
+            public A_star.Result run() {
+                return ContractionHierarchy.this.run(start, goal);
+            }
+
+            public String getName() {
+                return "ContractionHierarchy";
+            }
+        };
+    }
+
+    public A_star.Result run(int[] start, int[] goal) {
+        long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+        A_star.Result res = new A_star.Result();
+
+        int startCell = start[0] * COLS + start[1];
+        int goalCell = goal[0] * COLS + goal[1];
+        if (startCell == goalCell || GRID[goal[0]][goal[1]] == -1) {
+            res.success = startCell == goalCell;
+            res.path = res.success ? new GridPath.Builder(COLS).add(startCell).build() : GridPath.EMPTY;
+            long now = System.nanoTime();
+            res.recordPhases(startTime, now, now, now);
+            res.recordAllocation(bytesMark);
+            return res;
+        }
+
+        Query q = queries.get();
+        q.begin();
+        if (GRID[start[0]][start[1]] != -1) {
+            q.seedForward(nodeOf[startCell], 0);
+        } else {
+            // Like Dijkstra, a start on a wall may still step out into its open neighbours
+            int r = start[0], c = start[1];
+            for (int d = 0; d < 4; d++) {
+                int nr = r, nc = c;
+                if (d == 0) nr--;
+                else if (d == 1) nr++;
+                else if (d == 2) nc--;
+                else nc++;
+                if (nr >= 0 && nr < ROWS && nc >= 0 && nc < COLS && GRID[nr][nc] != -1)
+                    q.seedForward(nodeOf[nr * COLS + nc], GRID[nr][nc]);
+            }
+        }
+        q.seedBackward(nodeOf[goalCell]);
+
+        long searchStart = System.nanoTime();
+        int meet = q.search();
+
+        long reconstructStart = System.nanoTime();
+        res.visitedCount = q.settled;
+        res.heapPushes = q.openF.getPushes() + q.openB.getPushes() - q.pushMark;
+        res.heapPops = q.openF.getPops() + q.openB.getPops() - q.popMark;
+        res.peakFrontier = q.peakFrontier;
+        if (meet != -1) {
+            res.success = true;
+            res.cost = q.best;
+            res.path = q.buildPath(startCell, meet);
+        } else {
+            res.success = false;
+            res.path = GridPath.EMPTY;
+        }
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+        return res;
+    }
+
+    // Upward bidirectional search state, with generation stamps instead of clearing per query
+    private class Query {
+        final int[] distF = new int[numNodes], distB = new int[numNodes];
+        final int[] parentF = new int[numNodes], parentB = new int[numNodes]; // edge ids, -1 at seeds
+        final int[] seenF = new int[numNodes], seenB = new int[numNodes];
+        final IndexedMinHeap openF = new IndexedMinHeap(numNodes), openB = new IndexedMinHeap(numNodes);
+        final IntList stack = new IntList(64);
+        int generation;
+        int best, settled, peakFrontier;
+        long pushMark, popMark;
+
+        void begin() {
+            if (++generation == 0) {
+                Arrays.fill(seenF, 0);
+                Arrays.fill(seenB, 0);
+                generation = 1;
+            }
+            openF.clear();
+            openB.clear();
+            pushMark = openF.getPushes() + openB.getPushes();
+            popMark = openF.getPops() + openB.getPops();
+            best = INF;
+            settled = 0;
+            peakFrontier = 0;
+        }
+
+        void seedForward(int node, int d) {
+            if (seenF[node] == generation && distF[node] <= d)
+                return;
+            seenF[node] = generation;
+            distF[node] = d;
+            parentF[node] = -1;
+            openF.pushOrDecrease(node, d);
+        }
+
+        void seedBackward(int node) {
+            seenB[node] = generation;
+            distB[node] = 0;
+            parentB[node] = -1;
+            openB.pushOrDecrease(node, 0);
+        }
+
+        // Returns the meeting node of the best up-down path, or -1
+        int search() {
+            int meet = -1;
+            while (true) {
+                long minF = openF.isEmpty() ? Long.MAX_VALUE : openF.peekKey();
+                long minB = openB.isEmpty() ? Long.MAX_VALUE : openB.peekKey();
+                // Each side only climbs, so neither can improve once both keys reach best
+                if (Math.min(minF, minB) >= best)
+                    break;
+                peakFrontier = Math.max(peakFrontier, openF.size() + openB.size());
+
+                boolean forward = minF <= minB;
+                int u = forward ? openF.pop() : openB.pop();
+                settled++;
+                if (forward && seenB[u] == generation && distF[u] + distB[u] < best) {
+                    best = distF[u] + distB[u];
+                    meet = u;
+                } else if (!forward && seenF[u] == generation && distF[u] + distB[u] < best) {
+                    best = distF[u] + distB[u];
+                    meet = u;
+                }
+
+                if (forward) {
+                    for (int i = upStart[u]; i < upStart[u + 1]; i++) {
+                        int e = upEdge[i];
+                        int x = edgeTo[e];
+                        int nd = distF[u] + edgeCost[e];
+                        if (seenF[x] != generation || nd < distF[x]) {
+                            seenF[x] = generation;
+                            distF[x] = nd;
+                            parentF[x] = e;
+                            openF.pushOrDecrease(x, nd);
+                        }
+                    }
+                } else {
+                    for (int i = downStart[u]; i < downStart[u + 1]; i++) {
+                        int e = downEdge[i];
+                        int y = edgeFrom[e];
+                        int nd = distB[u] + edgeCost[e];
+                        if (seenB[y] != generation || nd < distB[y]) {
+                            seenB[y] = generation;
+                            distB[y] = nd;
+                            parentB[y] = e;
+                            openB.pushOrDecrease(y, nd);
+                        }
+                    }
+                }
+            }
+            return meet;
+        }
+
+        // Start cell, the up part to meet, then the down part to the goal, shortcuts unpacked
+        GridPath buildPath(int startCell, int meet) {
+            GridPath.Builder path = new GridPath.Builder(COLS).add(startCell);
+
+            stack.size = 0;
+            int node = meet;
+            for (int e = parentF[node]; e != -1; e = parentF[node]) {
+                stack.add(e);
+                node = edgeFrom[e];
+            }
+            if (nodeCell[node] != startCell)
+                path.add(nodeCell[node]); // seed next to a wall start
+            IntList up = new IntList(stack.size);
+            for (int i = stack.size - 1; i >= 0; i--)
+                up.add(stack.get(i));
+            for (int i = 0; i < up.size; i++)
+                unpack(up.get(i), path);
+
+            for (int e = parentB[meet]; e != -1; e = parentB[edgeTo[e]])
+                unpack(e, path);
+            return path.build();
+        }
+
+        // Appends the cells an edge covers, excluding its first cell
+        private void unpack(int edge, GridPath.Builder path) {
+            stack.size = 0;
+            stack.add(edge);
+            while (stack.size > 0) {
+                int e = stack.data[--stack.size];
+                if (edgeFirst[e] == -1) {
+                    path.add(nodeCell[edgeTo[e]]);
+                } else {
+                    stack.add(edgeSecond[e]);
+                    stack.add(edgeFirst[e]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Incremental planner (D* Lite) that keeps its search state between plan() calls.
+// The search runs backward from GOAL, so g[cell] is the cost of reaching GOAL from cell.
+// After setCellCost() or moveStart() only the cells whose cost-to-goal actually changed
+// are expanded again, instead of rerunning A_star from nothing.
+//
+// Moving into a cell costs that cell's weight, so a cell's rhs is the cheapest
+// weight[next] + g[next] over its open neighbours.
+public class DStarLite {
+    private static final int INF = Integer.MAX_VALUE;
+
+    private final int ROWS, COLS;
+    private final int[] weight; // flat copy of the grid, -1 for walls
+    private final int goalCell;
+    private int startCell;
+    private int lastStart; // start when km was last updated
+
+    private final int[] g, rhs;
+    private final IndexedMinHeap open;
+    private final boolean useHeuristic;
+    private int km;
+
+    // Path extraction marks visited cells with a stamp instead of clearing an array
+    private final int[] pathStamp;
+    private int stamp;
+
+    private int expansions;
+
+    public DStarLite(int[][] grid, int rows, int cols, int[] start, int[] goal) {
+        this.ROWS = rows;
+        this.COLS = cols;
+        int cells = rows * cols;
+        this.weight = new int[cells];
+        boolean positive = true;
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++) {
+                int w = grid[r][c];
+                weight[r * cols + c] = w;
+                if (w != -1 && w < 1)
+                    positive = false;
+            }
+        // Manhattan distance is only a lower bound when every step costs at least 1
+        this.useHeuristic = positive;
+
+        this.startCell = start[0] * cols + start[1];
+        this.lastStart = startCell;
+        this.goalCell = goal[0] * cols + goal[1];
+
+        this.g = new int[cells];
+        this.rhs = new int[cells];
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        this.pathStamp = new int[cells];
+        this.open = new IndexedMinHeap(cells);
+
+        rhs[goalCell] = 0;
+        open.pushOrDecrease(goalCell, key(goalCell));
+    }
+
+    // Changes one cell's weight (-1 makes it a wall). The repair happens on the next plan().
+    public void setCellCost(int r, int c, int w) {
+        if (r < 0 || r >= ROWS || c < 0 || c >= COLS)
+            throw new IllegalArgumentException("Cell out of bounds: " + r + "," + c);
+        if (w < -1 || (w == 0 && useHeuristic))
+            throw new IllegalArgumentException("Cell weight must be -1 or at least 1: " + w);
+
+        int cell = r * COLS + c;
+        if (weight[cell] == w)
+            return;
+        weight[cell] = w;
+
+        // The cell's own rhs depends on its neighbours; every neighbour pays w to enter it
+        updateVertex(cell);
+        for (int d = 0; d < 4; d++) {
+            int next = neighbour(cell, d);
+            if (next != -1)
+                updateVertex(next);
+        }
+    }
+
+    public int getCellCost(int r, int c) {
+        return weight[r * COLS + c];
+    }
+
+    // Moves the agent; the key modifier km keeps queued keys valid without reordering the heap
+    public void moveStart(int[] start) {
+        int cell = start[0] * COLS + start[1];
+        if (cell == startCell)
+            return;
+        km += heuristic(lastStart, cell);
+        lastStart = cell;
+        int previous = startCell;
+        startCell = cell;
+        // Walls are only kept in the queue while they are the start cell
+        updateVertex(previous);
+        updateVertex(cell);
+    }
+
+    // Counters cover this call only, except peakFrontier which is the lifetime peak
+    public A_star.Result plan() {
+        long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+        long pushMark = open.getPushes(), popMark = open.getPops();
+        expansions = 0;
+        computeShortestPath();
+
+        long reconstructStart = System.nanoTime();
+        A_star.Result res = new A_star.Result();
+        res.visitedCount = expansions;
+        res.heapPushes = open.getPushes() - pushMark;
+        res.heapPops = open.getPops() - popMark;
+        res.peakFrontier = open.getPeakSize();
+        if (rhs[startCell] != INF) {
+            res.success = true;
+            res.cost = rhs[startCell];
+            res.path = extractPath();
+        } else {
+            res.success = false;
+            res.path = GridPath.EMPTY;
+        }
+        res.recordPhases(startTime, startTime, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+        return res;
+    }
+
+    private void computeShortestPath() {
+        while (!open.isEmpty()
+                && (open.peekKey() < key(startCell) || rhs[startCell] != g[startCell])) {
+            int u = open.peek();
+            long oldKey = open.peekKey();
+            long newKey = key(u);
+            expansions++;
+
+            if (oldKey < newKey) {
+                open.update(u, newKey);
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                open.remove(u);
+                relaxPredecessors(u);
+            } else {
+                g[u] = INF;
+                updateVertex(u);
+                relaxPredecessors(u);
+            }
+        }
+    }
+
+    // Neighbours that step into u pay weight[u], so their rhs depends on g[u]
+    private void relaxPredecessors(int u) {
+        if (weight[u] == -1)
+            return;
+        for (int d = 0; d < 4; d++) {
+            int prev = neighbour(u, d);
+            if (prev != -1)
+                updateVertex(prev);
+        }
+    }
+
+    private void updateVertex(int cell) {
+        if (weight[cell] == -1 && cell != startCell && cell != goalCell) {
+            g[cell] = INF;
+            rhs[cell] = INF;
+            open.remove(cell);
+            return;
+        }
+        if (cell != goalCell)
+            rhs[cell] = bestSuccessor(cell);
+        if (g[cell] != rhs[cell])
+            open.update(cell, key(cell));
+        else
+            open.remove(cell);
+    }
+
+    private int bestSuccessor(int cell) {
+        int best = INF;
+        for (int d = 0; d < 4; d++) {
+            int next = neighbour(cell, d);
+            if (next == -1 || weight[next] == -1 || g[next] == INF)
+                continue;
+            int cost = weight[next] + g[next];
+            if (cost < best)
+                best = cost;
+        }
+        return best;
+    }
+
+    // (min(g, rhs) + h + km, min(g, rhs)) packed into one long, compared lexicographically
+    private long key(int cell) {
+        int m = Math.min(g[cell], rhs[cell]);
+        if (m == INF)
+            return Long.MAX_VALUE;
+        long k1 = (long) m + heuristic(startCell, cell) + km;
+        return (k1 << 32) | m;
+    }
+
+    private int heuristic(int a, int b) {
+        if (!useHeuristic)
+            return 0;
+        return Math.abs(a / COLS - b / COLS) + Math.abs(a % COLS - b % COLS);
+    }
+
+    // Cell one step in direction d, or -1 off the grid
+    private int neighbour(int cell, int d) {
+        int r = cell / COLS;
+        int c = cell % COLS;
+        if (d == 0) r--;
+        else if (d == 1) r++;
+        else if (d == 2) c--;
+        else c++;
+        if (r < 0 || r >= ROWS || c < 0 || c >= COLS)
+            return -1;
+        return r * COLS + c;
+    }
+
+    // Follows the cheapest weight[next] + g[next] from start; visited cells are skipped
+    // so zero-weight cells cannot make the walk oscillate
+    private GridPath extractPath() {
+        stamp++;
+        GridPath.Builder path = new GridPath.Builder(COLS);
+        int cell = startCell;
+        pathStamp[cell] = stamp;
+        path.add(cell);
+        while (cell != goalCell) {
+            int best = -1;
+            int bestCost = INF;
+            for (int d = 0; d < 4; d++) {
+                int next = neighbour(cell, d);
+                if (next == -1 || weight[next] == -1 || g[next] == INF || pathStamp[next] == stamp)
+                    continue;
+                int cost = weight[next] + g[next];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = next;
+                }
+            }
+            if (best == -1)
+                break;
+            cell = best;
+            pathStamp[cell] = stamp;
+            path.add(cell);
+        }
+        return path.build();
+    }
+
+    public int getRows() {
+        return ROWS;
+    }
+
+    public int getCols() {
+        return COLS;
+    }
+}
@@ -2,7 +2,7 @@ package Algorithm;
 
 import java.util.*;
 
-public class Dijkstra {
+public class Dijkstra implements PathSolver {
     private int[][] GRID;
     private int ROWS, COLS;
     private int[] START, GOAL;
@@ -16,12 +16,7 @@ public class Dijkstra {
         this.GOAL = goal;
     }
 
-    public static class Result {
-        public boolean success;
-        public int cost;
-        public List<int[]> path;
-        public int visitedCount;
-        public double timeTaken;
+    public static class Result extends SolverResult {
     }
 
     private class Node implements Comparable<Node> {
@@ -43,6 +38,7 @@ public class Dijkstra {
 
     public Result run() {
         long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
 
         PriorityQueue<Node> pq = new PriorityQueue<>();
         pq.add(new Node(START[0], START[1], 0, null));
@@ -54,7 +50,10 @@ public class Dijkstra {
 
         int visitedCount = 0;
         Node finalNode = null;
+        long pushes = 1, staleSkips = 0;
+        int peakFrontier = 1;
 
+        long searchStart = System.nanoTime();
         while (!pq.isEmpty()) {
             Node curr = pq.poll();
             visitedCount++;
@@ -64,8 +63,10 @@ public class Dijkstra {
                 break;
             }
 
-            if (curr.cost > minCosts[curr.r][curr.c])
+            if (curr.cost > minCosts[curr.r][curr.c]) {
+                staleSkips++;
                 continue;
+            }
 
             for (int[] m : MOVES) {
                 int nr = curr.r + m[0];
@@ -76,29 +77,39 @@ public class Dijkstra {
                     if (newCost < minCosts[nr][nc]) {
                         minCosts[nr][nc] = newCost;
                         pq.add(new Node(nr, nc, newCost, curr));
+                        pushes++;
+                        if (pq.size() > peakFrontier)
+                            peakFrontier = pq.size();
                     }
                 }
             }
         }
 
-        long endTime = System.nanoTime();
+        long reconstructStart = System.nanoTime();
         Result res = new Result();
-        res.timeTaken = (endTime - startTime) / 1e9;
         res.visitedCount = visitedCount;
+        res.heapPushes = pushes;
+        res.heapPops = visitedCount;
+        res.staleSkips = staleSkips;
+        res.peakFrontier = peakFrontier;
 
         if (finalNode != null) {
             res.success = true;
             res.cost = finalNode.cost;
-            res.path = new ArrayList<>();
-            Node temp = finalNode;
-            while (temp != null) {
-                res.path.add(0, new int[] { temp.r, temp.c });
-                temp = temp.parent;
-            }
+            // Count first, then fill back to front: O(length) instead of prepending
+            int length = 0;
+            for (Node temp = finalNode; temp != null; temp = temp.parent)
+                length++;
+            int[] cells = new int[length];
+            for (Node temp = finalNode; temp != null; temp = temp.parent)
+                cells[--length] = temp.r * COLS + temp.c;
+            res.path = GridPath.wrap(cells, COLS);
         } else {
             res.success = false;
-            res.path = new ArrayList<>();
+            res.path = GridPath.EMPTY;
         }
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
         return res;
     }
 }
\ No newline at end of file
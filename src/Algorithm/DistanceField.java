@@ -0,0 +1,77 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Exact cost from every cell to one target cell. Moving into a cell costs its weight,
+// so this is a Dijkstra run backwards from the target: stepping from v into u costs
+// weight[u]. Weights are the flat move costs GA uses (SegmentSearch.flatten).
+public class DistanceField {
+
+    private final int target;
+    private final int[] dist; // [cell] = cost to target, -1 when unreachable
+
+    // Built by toTarget() or read back by MapArtifactCache
+    DistanceField(int target, int[] dist) {
+        this.target = target;
+        this.dist = dist;
+    }
+
+    public static DistanceField toTarget(int[] weights, int rows, int cols, int target) {
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, -1);
+        IndexedMinHeap heap = new IndexedMinHeap(rows * cols);
+        dist[target] = 0;
+        heap.pushOrDecrease(target, 0);
+
+        while (!heap.isEmpty()) {
+            int curr = heap.pop();
+            int r = curr / cols;
+            int c = curr - r * cols;
+            int step = dist[curr] + weights[curr]; // from a neighbour into curr
+            for (int d = 0; d < 4; d++) {
+                int prev;
+                if (d == 0) {
+                    if (r == 0) continue;
+                    prev = curr - cols;
+                } else if (d == 1) {
+                    if (r == rows - 1) continue;
+                    prev = curr + cols;
+                } else if (d == 2) {
+                    if (c == 0) continue;
+                    prev = curr - 1;
+                } else {
+                    if (c == cols - 1) continue;
+                    prev = curr + 1;
+                }
+                if (weights[prev] == -1)
+                    continue;
+                if (dist[prev] == -1 || step < dist[prev]) {
+                    dist[prev] = step;
+                    heap.pushOrDecrease(prev, step);
+                }
+            }
+        }
+        return new DistanceField(target, dist);
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public boolean reaches(int cell) {
+        return dist[cell] != -1;
+    }
+
+    // Same sentinel as ShortestPathTree so segment costs can be mixed freely
+    public int costFrom(int cell) {
+        return dist[cell] == -1 ? ShortestPathTree.UNREACHABLE : dist[cell];
+    }
+
+    int[] distArray() {
+        return dist;
+    }
+
+    public long sizeInBytes() {
+        return (long) dist.length * Integer.BYTES;
+    }
+}
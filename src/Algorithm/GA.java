@@ -4,12 +4,15 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 
-public class GA {
+public class GA implements PathSolver {
 
     private int[][] grid;
     private int rows, cols;
-    private Point startPos, endPos;
+    private int startCell, endCell; // cell = r * cols + c
 
     // GA Parameters
     private int populationSize = 50;
@@ -17,12 +20,42 @@ public class GA {
     private double mutationRate = 0.1;
     private double initialTemp = 1000.0;
     private double coolingRate = 0.98;
+    private int parallelism = 1; // 1 = evaluate fitness on the calling thread
+    private Long seed; // null = fresh seed per run
 
     private StepCallback callback;
+    private List<StoppingCriterion> stoppingCriteria = new ArrayList<>();
+
+    // Segment cost cache
+    private SegmentCostCache segmentCache = new SegmentCostCache(DEFAULT_CACHE_CAPACITY,
+            SegmentCostCache.EvictionPolicy.LRU);
+
+    // Shortest-path trees shared by cost lookups and path reconstruction
+    private ShortestPathTreeStore treeStore = new ShortestPathTreeStore(DEFAULT_TREE_STORE_BYTES);
+
+    // Exact costs into the goal; answers the last segment without a search
+    private DistanceField goalDistances;
+
+    // Waypoints are drawn from the start's component only; labelled on first run if not given
+    private ComponentLabels components;
+    private int startComponent;
+
+    // Island mode (set by IslandGA)
+    IslandGA.Link migration;
+    boolean exportStats = true;
+
+    // Flat grid + one reusable search kernel per worker thread
+    private final int[] flatGrid;
+    private final ThreadLocal<SegmentSearch> kernels;
 
     static final int NUM_WAYPOINTS = 10; // Gene length
+    static final int NUM_SEGMENTS = NUM_WAYPOINTS + 1; // start -> wp0 -> ... -> wp9 -> goal
+    static final int ALL_SEGMENTS = (1 << NUM_SEGMENTS) - 1;
     static final int PENALTY_COST = 10000;
-    static Random random = new Random();
+    static final int DEFAULT_CACHE_CAPACITY = 200_000;
+    static final long DEFAULT_TREE_STORE_BYTES = 64L * 1024 * 1024;
+    static final int FITNESS_SPLIT_THRESHOLD = 4;
+    static final int MUTATION_ATTEMPTS = 8; // draws per mutation before the waypoint is left alone
 
     public static class GenerationStat {
         public int generation;
@@ -42,8 +75,10 @@ public class GA {
         this.grid = grid;
         this.rows = rows;
         this.cols = cols;
-        this.startPos = new Point(start[0], start[1]);
-        this.endPos = new Point(goal[0], goal[1]);
+        this.startCell = start[0] * cols + start[1];
+        this.endCell = goal[0] * cols + goal[1];
+        this.flatGrid = SegmentSearch.flatten(grid, rows, cols);
+        this.kernels = ThreadLocal.withInitial(() -> new SegmentSearch(flatGrid, rows, cols));
     }
 
     public void setParameters(int popSize, int generations, int elitism, double mutation) {
@@ -53,77 +88,162 @@ public class GA {
     }
 
     public interface StepCallback {
-        void onStep(List<int[]> bestPath, int generation, int currentCost, String status);
+        void onStep(GridPath bestPath, int generation, int currentCost, String status);
     }
 
     public void setCallback(StepCallback cb) {
         this.callback = cb;
     }
 
-    public static class Result {
-        public List<int[]> path;
-        public int cost;
-        public double timeTaken;
+    public void setSegmentCache(int capacity, SegmentCostCache.EvictionPolicy policy) {
+        this.segmentCache = new SegmentCostCache(capacity, policy);
+    }
+
+    public SegmentCostCache getSegmentCache() {
+        return segmentCache;
+    }
+
+    public void setTreeStoreBudget(long maxBytes) {
+        this.treeStore = new ShortestPathTreeStore(maxBytes);
+    }
+
+    public ShortestPathTreeStore getTreeStore() {
+        return treeStore;
+    }
+
+    void shareCaches(SegmentCostCache cache, ShortestPathTreeStore store) {
+        this.segmentCache = cache;
+        this.treeStore = store;
+    }
+
+    // Field must target this GA's goal, e.g. from MapArtifactCache.goalDistances
+    public void setGoalDistances(DistanceField field) {
+        if (field != null && field.getTarget() != endCell)
+            throw new IllegalArgumentException("Distance field targets a different goal cell");
+        this.goalDistances = field;
+    }
+
+    // Labels of this GA's map, e.g. from MapArtifactCache.components
+    public void setComponents(ComponentLabels labels) {
+        this.components = labels;
+    }
+
+    // Run stops at the first generation where any criterion fires
+    public void addStoppingCriterion(StoppingCriterion criterion) {
+        stoppingCriteria.add(criterion);
+    }
+
+    // Fixed seed makes run() reproducible; each run draws from its own stream
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Number of fork-join workers used for fitness evaluation
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    // No priority queue: heap counters stay 0. bytesAllocated covers the calling thread
+    // only, so fitness work done on pool workers is not included.
+    public static class Result extends SolverResult {
+        public long cacheHits;
+        public long cacheMisses;
+        public List<GenerationStat> history;
+        public String stopReason;
+        public int stopGeneration;
+        public long seed;
     }
 
     // CORE LOGIC
 
     public Result run() {
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            return evolve(pool);
+        } finally {
+            if (pool != null)
+                pool.shutdownNow();
+        }
+    }
+
+    private Result evolve(ForkJoinPool pool) {
         long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+        // The cache outlives a run (and IslandGA shares one), so report this run's lookups only
+        long hitsMark = segmentCache.getHits(), missesMark = segmentCache.getMisses();
+
+        // Per-run RNG stream: no contention with other GA instances, replayable from the seed
+        long runSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        SplittableRandom random = new SplittableRandom(runSeed);
+
+        // No waypoint choice can connect S to G across components: fail before evolving
+        if (components == null)
+            components = ComponentLabels.build(grid, rows, cols);
+        startComponent = components.label(startCell);
+        if (!components.connected(startCell, endCell))
+            return unreachableResult(startTime, bytesMark, runSeed);
+
+        // Two population buffers, swapped every generation
+        Population population = new Population(populationSize);
+        Population nextPopulation = new Population(populationSize);
 
         // Initialization
-        List<Individual> population = new ArrayList<>();
         for (int i = 0; i < populationSize; i++) {
-            Individual ind = new Individual();
-            ind.randomize();
-            ind.calculateFitness();
-            population.add(ind);
+            randomize(random, population, i);
         }
+        evaluateAll(population, 0, pool);
 
         // Hall of Fame
-        Individual hallOfFame = getBest(population);
-
-        Individual bestEver = new Individual(hallOfFame.waypoints);
-        bestEver.totalCost = hallOfFame.totalCost;
-        hallOfFame = bestEver;
+        Population hallOfFame = new Population(1);
+        Population.copy(population, getBest(population), hallOfFame, 0);
 
         double currentTemp = initialTemp;
         List<GenerationStat> history = new ArrayList<>();
+        String stopReason = "Max generations";
+        int stopGeneration = maxGenerations - 1;
+        long searchStart = System.nanoTime();
         // Main Loop
         for (int gen = 0; gen < maxGenerations; gen++) {
 
-            List<Individual> newPopulation = new ArrayList<>();
-
             // Keep Hall of Fame
-            Individual elite = new Individual(hallOfFame.waypoints);
-            elite.totalCost = hallOfFame.totalCost;
-            newPopulation.add(elite);
+            Population.copy(hallOfFame, 0, nextPopulation, 0);
 
-            // Evolution Loop
-            while (newPopulation.size() < populationSize) {
+            // Evolution Loop (random choices stay on this thread, so results match the sequential mode)
+            for (int child = 1; child < populationSize; child++) {
                 // Selection
-                Individual p1 = tournamentSelect(population);
-                Individual p2 = tournamentSelect(population);
+                int p1 = tournamentSelect(random, population);
+                int p2 = tournamentSelect(random, population);
 
                 // Crossover
-                Individual child = crossover(p1, p2);
+                crossover(random, population, p1, p2, nextPopulation, child);
 
                 // Mutation with SA Logic
-                mutateWithSA(child, currentTemp);
-
-                // Calculate Fitness
-                child.calculateFitness();
-                newPopulation.add(child);
+                mutateWithSA(random, nextPopulation, child, currentTemp);
             }
 
+            // Calculate Fitness
+            evaluateAll(nextPopulation, 1, pool);
+
             // Update Population
-            population = newPopulation;
+            Population swap = population;
+            population = nextPopulation;
+            nextPopulation = swap;
 
             // Update Hall of Fame
-            Individual currentBest = getBest(population);
-            if (currentBest.totalCost < hallOfFame.totalCost) {
-                hallOfFame = new Individual(currentBest.waypoints);
-                hallOfFame.totalCost = currentBest.totalCost;
+            int currentBest = getBest(population);
+            if (population.costs[currentBest] < hallOfFame.costs[0]) {
+                Population.copy(population, currentBest, hallOfFame, 0);
+            }
+
+            // Feature: Island Migration
+            if (migration != null && (gen + 1) % migration.interval == 0) {
+                migrate(population);
+                int best = getBest(population);
+                if (population.costs[best] < hallOfFame.costs[0]) {
+                    Population.copy(population, best, hallOfFame, 0);
+                }
             }
 
             calculateAndStoreStats(gen, population, currentTemp, history);
@@ -135,52 +255,131 @@ public class GA {
 
             // Callback
             if (callback != null) {
-                List<int[]> visualPath = reconstructPath(hallOfFame.waypoints);
+                GridPath visualPath = reconstructPath(hallOfFame.genes);
                 String status = String.format("Gen: %d | Temp: %.1f | Best: %d", gen, currentTemp,
-                        hallOfFame.totalCost);
-                callback.onStep(visualPath, gen, hallOfFame.totalCost, status);
+                        hallOfFame.costs[0]);
+                callback.onStep(visualPath, gen, hallOfFame.costs[0], status);
+            }
+
+            // Early Termination
+            String reason = checkStoppingCriteria(history);
+            if (reason != null) {
+                stopReason = reason;
+                stopGeneration = gen;
+                break;
             }
         }
 
-        File dataDir = new File("Data");
+        if (exportStats) {
+            File dataDir = new File("Data");
 
-        if (!dataDir.exists()) {
-            dataDir.mkdir();
-        }
+            if (!dataDir.exists()) {
+                dataDir.mkdir();
+            }
 
-        File outputFile = new File(dataDir, "ga_stats.csv");
+            File outputFile = new File(dataDir, "ga_stats.csv");
 
-        exportToCSV(history, outputFile.getPath());
+            exportToCSV(history, outputFile.getPath());
+        }
 
         // Final Result
+        long reconstructStart = System.nanoTime();
         Result res = new Result();
-        res.path = reconstructPath(hallOfFame.waypoints);
-        res.cost = hallOfFame.totalCost;
-        res.timeTaken = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        res.path = reconstructPath(hallOfFame.genes);
+        res.cost = hallOfFame.costs[0];
+        res.success = res.cost < PENALTY_COST;
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+        res.cacheHits = segmentCache.getHits() - hitsMark;
+        res.cacheMisses = segmentCache.getMisses() - missesMark;
+        res.history = history;
+        res.stopReason = stopReason;
+        res.stopGeneration = stopGeneration;
+        res.seed = runSeed;
         return res;
     }
 
-    private void calculateAndStoreStats(int gen, List<Individual> pop, double temp, List<GenerationStat> history) {
+    private Result unreachableResult(long startTime, long bytesMark, long runSeed) {
+        long now = System.nanoTime();
+        Result res = new Result();
+        res.path = GridPath.EMPTY;
+        res.cost = PENALTY_COST;
+        res.success = false;
+        res.recordPhases(startTime, now, now, now);
+        res.recordAllocation(bytesMark);
+        res.history = new ArrayList<>();
+        res.stopReason = "Start and goal not connected";
+        res.stopGeneration = 0;
+        res.seed = runSeed;
+        return res;
+    }
+
+    // Feature: Parallel Fitness
+    private void evaluateAll(Population pop, int from, ForkJoinPool pool) {
+        if (pool == null) {
+            for (int i = from; i < pop.size; i++)
+                calculateFitness(pop, i);
+        } else {
+            pool.invoke(new FitnessTask(pop, from, pop.size));
+        }
+    }
+
+    private class FitnessTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Population pop;
+        private final int from, to;
+
+        FitnessTask(Population pop, int from, int to) {
+            this.pop = pop;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FITNESS_SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++)
+                    calculateFitness(pop, i);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new FitnessTask(pop, from, mid), new FitnessTask(pop, mid, to));
+        }
+    }
+
+    private String checkStoppingCriteria(List<GenerationStat> history) {
+        for (StoppingCriterion criterion : stoppingCriteria) {
+            String reason = criterion.check(history);
+            if (reason != null)
+                return reason;
+        }
+        return null;
+    }
+
+    private void calculateAndStoreStats(int gen, Population pop, double temp, List<GenerationStat> history) {
         long sumCost = 0;
         int minCost = Integer.MAX_VALUE;
         int maxCost = Integer.MIN_VALUE;
 
-        for (Individual ind : pop) {
-            sumCost += ind.totalCost;
-            if (ind.totalCost < minCost)
-                minCost = ind.totalCost;
-            if (ind.totalCost > maxCost)
-                maxCost = ind.totalCost;
+        for (int i = 0; i < pop.size; i++) {
+            int cost = pop.costs[i];
+            sumCost += cost;
+            if (cost < minCost)
+                minCost = cost;
+            if (cost > maxCost)
+                maxCost = cost;
         }
 
-        double avg = (double) sumCost / pop.size();
+        double avg = (double) sumCost / pop.size;
 
         // Calculate StdDev
         double sumSquaredDiff = 0;
-        for (Individual ind : pop) {
-            sumSquaredDiff += Math.pow(ind.totalCost - avg, 2);
+        for (int i = 0; i < pop.size; i++) {
+            double diff = pop.costs[i] - avg;
+            sumSquaredDiff += diff * diff;
         }
-        double stdDev = Math.sqrt(sumSquaredDiff / pop.size());
+        double stdDev = Math.sqrt(sumSquaredDiff / pop.size);
 
         GenerationStat stat = new GenerationStat();
         stat.generation = gen;
@@ -193,7 +392,7 @@ public class GA {
         history.add(stat);
     }
 
-    private void exportToCSV(List<GenerationStat> history, String filename) {
+    static void exportToCSV(List<GenerationStat> history, String filename) {
         try (PrintWriter writer = new PrintWriter(new File(filename))) {
             writer.println("Generation,BestCost,WorstCost,AvgCost,StdDev,Temperature");
             for (GenerationStat stat : history) {
@@ -206,12 +405,12 @@ public class GA {
     }
 
     // Helper
-    private Individual tournamentSelect(List<Individual> pop) {
+    private int tournamentSelect(SplittableRandom random, Population pop) {
         int tournamentSize = 5;
-        Individual best = null;
+        int best = -1;
         for (int i = 0; i < tournamentSize; i++) {
-            Individual randInd = pop.get(random.nextInt(pop.size()));
-            if (best == null || randInd.totalCost < best.totalCost) {
+            int randInd = random.nextInt(pop.size);
+            if (best == -1 || pop.costs[randInd] < pop.costs[best]) {
                 best = randInd;
             }
         }
@@ -219,213 +418,193 @@ public class GA {
     }
 
     // Feature: Crossover
-    private Individual crossover(Individual p1, Individual p2) {
-        List<Point> childWP = new ArrayList<>();
+    private void crossover(SplittableRandom random, Population parents, int p1, int p2, Population children, int child) {
         // Single Point Crossover
         int cutPoint = random.nextInt(NUM_WAYPOINTS);
 
-        for (int i = 0; i < NUM_WAYPOINTS; i++) {
-            if (i < cutPoint) {
-                Point p = p1.waypoints.get(i);
-                childWP.add(new Point(p.r, p.c));
-            } else {
-                Point p = p2.waypoints.get(i);
-                childWP.add(new Point(p.r, p.c));
-            }
-        }
-        return new Individual(childWP);
+        int[] src = parents.genes;
+        int[] dst = children.genes;
+        int base = child * NUM_WAYPOINTS;
+        System.arraycopy(src, p1 * NUM_WAYPOINTS, dst, base, cutPoint);
+        System.arraycopy(src, p2 * NUM_WAYPOINTS + cutPoint, dst, base + cutPoint, NUM_WAYPOINTS - cutPoint);
+
+        // Segments before the cut come from p1, the rest from p2.
+        // Only segment cutPoint joins p1's waypoint to p2's, so only it needs recomputing.
+        int segBase = child * NUM_SEGMENTS;
+        System.arraycopy(parents.segments, p1 * NUM_SEGMENTS, children.segments, segBase, cutPoint);
+        System.arraycopy(parents.segments, p2 * NUM_SEGMENTS + cutPoint, children.segments, segBase + cutPoint,
+                NUM_SEGMENTS - cutPoint);
+        children.dirty[child] = cutPoint == 0 ? 0 : 1 << cutPoint;
     }
 
     // Temp + Penalty
-    private void mutateWithSA(Individual ind, double temp) {
+    private void mutateWithSA(SplittableRandom random, Population pop, int ind, double temp) {
         if (random.nextDouble() > mutationRate)
             return;
 
         // Mutation
         int idx = random.nextInt(NUM_WAYPOINTS);
-        Point oldP = ind.waypoints.get(idx);
+        int oldCell = pop.genes[ind * NUM_WAYPOINTS + idx];
+        int oldR = oldCell / cols;
+        int oldC = oldCell % cols;
 
         // if hot make it far
         int moveRange = (int) (2 + (temp * 0.02));
-        int nr = oldP.r + (random.nextInt(moveRange * 2 + 1) - moveRange);
-        int nc = oldP.c + (random.nextInt(moveRange * 2 + 1) - moveRange);
+        int newCell = -1;
+        for (int attempt = 0; attempt < MUTATION_ATTEMPTS && newCell == -1; attempt++) {
+            int nr = oldR + (random.nextInt(moveRange * 2 + 1) - moveRange);
+            int nc = oldC + (random.nextInt(moveRange * 2 + 1) - moveRange);
 
-        nr = Math.max(0, Math.min(rows - 1, nr));
-        nc = Math.max(0, Math.min(cols - 1, nc));
+            nr = Math.max(0, Math.min(rows - 1, nr));
+            nc = Math.max(0, Math.min(cols - 1, nc));
 
-        // Penalty Logic 1
-        if (grid[nr][nc] == -1) {
-            // change coordinate
-            ind.waypoints.set(idx, new Point(nr, nc));
-        } else {
-            ind.waypoints.set(idx, new Point(nr, nc));
+            // Walls and cut-off regions can never be on a path from S
+            if (components.label(nr, nc) == startComponent)
+                newCell = nr * cols + nc;
         }
-    }
+        if (newCell == -1)
+            return;
+        pop.genes[ind * NUM_WAYPOINTS + idx] = newCell;
 
-    private Individual getBest(List<Individual> pop) {
-        Individual best = pop.get(0);
-        for (Individual ind : pop) {
-            if (ind.totalCost < best.totalCost) {
-                best = ind;
-            }
-        }
-        return best;
+        // Segments into and out of the moved waypoint
+        pop.dirty[ind] |= (1 << idx) | (1 << (idx + 1));
     }
 
-    // INDIVIDUAL
-    class Individual {
-        List<Point> waypoints = new ArrayList<>();
-        int totalCost = Integer.MAX_VALUE;
-
-        public Individual() {
-        }
-
-        public Individual(List<Point> wp) {
-            for (Point p : wp)
-                this.waypoints.add(new Point(p.r, p.c));
+    // Send copies of the best individuals out, replace the worst with arrivals
+    private void migrate(Population pop) {
+        boolean[] sent = new boolean[pop.size];
+        for (int m = 0; m < migration.migrants; m++) {
+            int best = -1;
+            for (int i = 0; i < pop.size; i++) {
+                if (!sent[i] && (best == -1 || pop.costs[i] < pop.costs[best]))
+                    best = i;
+            }
+            sent[best] = true;
+            Population migrant = new Population(1);
+            Population.copy(pop, best, migrant, 0);
+            migration.outbox.send(migrant);
         }
 
-        public void randomize() {
-            waypoints.clear();
-            for (int i = 0; i < NUM_WAYPOINTS; i++) {
-                int r, c;
-                do {
-                    r = random.nextInt(rows);
-                    c = random.nextInt(cols);
-                } while (grid[r][c] == -1);
-                waypoints.add(new Point(r, c));
+        for (int m = 0; m < migration.migrants; m++) {
+            Population arrival = migration.inbox.receive();
+            if (arrival == null)
+                break;
+            int worst = 0;
+            for (int i = 1; i < pop.size; i++) {
+                if (pop.costs[i] > pop.costs[worst])
+                    worst = i;
             }
+            Population.copy(arrival, 0, pop, worst);
         }
+    }
 
-        // Penalty & BFS
-        public void calculateFitness() {
-            int currentCost = 0;
-            Point currentPos = startPos;
-            List<Point> fullRoute = new ArrayList<>(this.waypoints);
-            fullRoute.add(endPos);
-
-            for (Point target : fullRoute) {
-                // Penalty 1
-                if (grid[target.r][target.c] == -1) {
-                    currentCost += PENALTY_COST;
-                } else {
-                    // BFS find cost
-                    int segmentCost = runBFSCost(currentPos, target);
-
-                    // Penalty 2
-                    if (segmentCost >= 100_000) {
-                        currentCost += PENALTY_COST;
-                    } else {
-                        currentCost += segmentCost;
-                    }
-                }
-                currentPos = target;
+    private int getBest(Population pop) {
+        int best = 0;
+        for (int i = 1; i < pop.size; i++) {
+            if (pop.costs[i] < pop.costs[best]) {
+                best = i;
             }
-            this.totalCost = currentCost;
         }
+        return best;
     }
 
-    // BFS & UTILS
-
-    static class Point {
-        int r, c;
+    private void randomize(SplittableRandom random, Population pop, int ind) {
+        int base = ind * NUM_WAYPOINTS;
+        for (int i = 0; i < NUM_WAYPOINTS; i++)
+            pop.genes[base + i] = components.randomCell(startComponent, random);
+        pop.dirty[ind] = ALL_SEGMENTS;
+    }
 
-        Point(int r, int c) {
-            this.r = r;
-            this.c = c;
+    // Penalty & Segment Search
+    // Only segments marked dirty by crossover/mutation are recomputed
+    private void calculateFitness(Population pop, int ind) {
+        int dirty = pop.dirty[ind];
+        int base = ind * NUM_WAYPOINTS;
+        int segBase = ind * NUM_SEGMENTS;
+        int totalCost = 0;
+
+        for (int i = 0; i < NUM_SEGMENTS; i++) {
+            if ((dirty & (1 << i)) != 0) {
+                int current = i == 0 ? startCell : pop.genes[base + i - 1];
+                int target = i < NUM_WAYPOINTS ? pop.genes[base + i] : endCell;
+                pop.segments[segBase + i] = segmentPenaltyCost(current, target);
+            }
+            totalCost += pop.segments[segBase + i];
         }
+        pop.costs[ind] = totalCost;
+        pop.dirty[ind] = 0;
     }
 
-    // BFS Cost Calculation
-    private int runBFSCost(Point start, Point end) {
-        if (start.r == end.r && start.c == end.c)
-            return 0;
-
-        boolean[][] visited = new boolean[rows][cols];
-        Queue<int[]> q = new LinkedList<>();
+    private int segmentPenaltyCost(int current, int target) {
+        // Penalty 1
+        if (flatGrid[target] == -1)
+            return PENALTY_COST;
 
-        q.add(new int[] { start.r, start.c, 0 });
-        visited[start.r][start.c] = true;
+        // Weighted segment cost (cached)
+        int segmentCost = segmentCost(current, target);
 
-        int[][] dirs = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
-
-        while (!q.isEmpty()) {
-            int[] curr = q.poll();
-            int r = curr[0];
-            int c = curr[1];
-            int cost = curr[2];
-
-            if (r == end.r && c == end.c)
-                return cost;
+        // Penalty 2
+        if (segmentCost >= ShortestPathTree.UNREACHABLE)
+            return PENALTY_COST;
+        return segmentCost;
+    }
 
-            for (int[] d : dirs) {
-                int nr = r + d[0];
-                int nc = c + d[1];
+    // POPULATION
+    // Struct-of-arrays: waypoint k of individual i is genes[i * NUM_WAYPOINTS + k],
+    // segment k (into waypoint k, or into the goal for k == NUM_WAYPOINTS) is segments[i * NUM_SEGMENTS + k]
+    static class Population {
+        final int size;
+        final int[] genes;
+        final int[] segments;
+        final int[] costs;
+        final int[] dirty; // bit k set = segment k must be recomputed
+
+        Population(int size) {
+            this.size = size;
+            this.genes = new int[size * NUM_WAYPOINTS];
+            this.segments = new int[size * NUM_SEGMENTS];
+            this.costs = new int[size];
+            this.dirty = new int[size];
+            Arrays.fill(costs, Integer.MAX_VALUE);
+        }
 
-                if (nr >= 0 && nr < rows && nc >= 0 && nc < cols
-                        && !visited[nr][nc] && grid[nr][nc] != -1) {
-                    visited[nr][nc] = true;
-                    int moveCost = grid[nr][nc] > 0 ? grid[nr][nc] : 1;
-                    q.add(new int[] { nr, nc, cost + moveCost });
-                }
-            }
+        static void copy(Population src, int from, Population dst, int to) {
+            System.arraycopy(src.genes, from * NUM_WAYPOINTS, dst.genes, to * NUM_WAYPOINTS, NUM_WAYPOINTS);
+            System.arraycopy(src.segments, from * NUM_SEGMENTS, dst.segments, to * NUM_SEGMENTS, NUM_SEGMENTS);
+            dst.costs[to] = src.costs[from];
+            dst.dirty[to] = src.dirty[from];
         }
-        return 100_000; // Unreachable
     }
 
-    private List<int[]> reconstructPath(List<Point> waypoints) {
-        List<int[]> fullPath = new ArrayList<>();
-        Point current = startPos;
-        List<Point> targets = new ArrayList<>(waypoints);
-        targets.add(endPos);
+    // SEARCH & UTILS
 
-        for (Point target : targets) {
-            List<int[]> segment = getPathPoints(current, target);
-            fullPath.addAll(segment);
-            if (!segment.isEmpty())
-                current = target;
+    // Cached Segment Cost
+    private int segmentCost(int from, int to) {
+        if (from == to)
+            return 0;
+        if (to == endCell && goalDistances != null)
+            return goalDistances.costFrom(from);
+
+        long key = SegmentCostCache.key(from, to);
+        int cost = segmentCache.get(key);
+        if (cost == SegmentCostCache.MISS) {
+            // Reuse a stored tree if path reconstruction already built one, else search directly
+            ShortestPathTree tree = treeStore.peek(from);
+            cost = tree != null ? tree.costTo(to) : kernels.get().cost(from, to);
+            segmentCache.put(key, cost);
         }
-        return fullPath;
+        return cost;
     }
 
-    private List<int[]> getPathPoints(Point s, Point e) {
-        if (s.r == e.r && s.c == e.c)
-            return new ArrayList<>();
-
-        Queue<Point> q = new LinkedList<>();
-        Point[][] parent = new Point[rows][cols];
-        boolean[][] visited = new boolean[rows][cols];
-
-        q.add(s);
-        visited[s.r][s.c] = true;
-        int[][] dirs = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
-
-        while (!q.isEmpty()) {
-            Point curr = q.poll();
-            if (curr.r == e.r && curr.c == e.c)
-                break;
-
-            for (int[] d : dirs) {
-                int nr = curr.r + d[0];
-                int nc = curr.c + d[1];
-                if (nr >= 0 && nr < rows && nc >= 0 && nc < cols && !visited[nr][nc] && grid[nr][nc] != -1) {
-                    visited[nr][nc] = true;
-                    parent[nr][nc] = curr;
-                    q.add(new Point(nr, nc));
-                }
-            }
-        }
+    private GridPath reconstructPath(int[] waypoints) {
+        GridPath.Builder fullPath = new GridPath.Builder(cols);
+        int current = startCell;
 
-        List<int[]> path = new ArrayList<>();
-        Point curr = e;
-        while (curr != null && (curr.r != s.r || curr.c != s.c)) {
-            path.add(new int[] { curr.r, curr.c });
-            curr = parent[curr.r][curr.c];
-        }
-        if (path.size() > 0) {
-            path.add(new int[] { s.r, s.c });
-            Collections.reverse(path);
+        for (int i = 0; i <= NUM_WAYPOINTS; i++) {
+            int target = i < NUM_WAYPOINTS ? waypoints[i] : endCell;
+            if (treeStore.get(current, kernels.get()).appendPathTo(target, fullPath))
+                current = target;
         }
-        return path;
+        return fullPath.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Immutable path as packed cell indices (cell = r * cols + c), start first.
+// One int per step instead of an int[] object per step; instances are never
+// modified after build(), so threads and the GUI can share them without copying.
+public final class GridPath {
+
+    public static final GridPath EMPTY = new GridPath(new int[0], 1);
+
+    private final int[] cells;
+    private final int cols;
+
+    private GridPath(int[] cells, int cols) {
+        this.cells = cells;
+        this.cols = cols;
+    }
+
+    // Takes ownership of cells; callers must not modify the array afterwards
+    static GridPath wrap(int[] cells, int cols) {
+        return cells.length == 0 ? EMPTY : new GridPath(cells, cols);
+    }
+
+    // Walks parent links back from last (parent -1 at the root) and fills front to back
+    static GridPath fromParents(int[] parent, int last, int cols) {
+        return new Builder(cols).addChain(parent, last).build();
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public boolean isEmpty() {
+        return cells.length == 0;
+    }
+
+    public int cell(int i) {
+        return cells[i];
+    }
+
+    public int row(int i) {
+        return cells[i] / cols;
+    }
+
+    public int col(int i) {
+        return cells[i] % cols;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    // Appends cells in order; growth is amortised O(1) per cell
+    static class Builder {
+        private final int cols;
+        private int[] data = new int[16];
+        private int size;
+
+        Builder(int cols) {
+            this.cols = cols;
+        }
+
+        Builder add(int cell) {
+            ensure(size + 1);
+            data[size++] = cell;
+            return this;
+        }
+
+        Builder addAll(int[] src, int from, int to) {
+            ensure(size + to - from);
+            System.arraycopy(src, from, data, size, to - from);
+            size += to - from;
+            return this;
+        }
+
+        // Appends root .. last of a parent-linked chain in O(length)
+        Builder addChain(int[] parent, int last) {
+            int length = 0;
+            for (int cell = last; cell != -1; cell = parent[cell])
+                length++;
+            ensure(size + length);
+            int i = size + length;
+            for (int cell = last; cell != -1; cell = parent[cell])
+                data[--i] = cell;
+            size += length;
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        GridPath build() {
+            return size == 0 ? EMPTY : new GridPath(Arrays.copyOf(data, size), cols);
+        }
+
+        private void ensure(int capacity) {
+            if (capacity > data.length)
+                data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Hierarchical pathfinding (HPA*). The grid is cut into square clusters; cells on both
+// sides of each open stretch of a cluster border become abstract nodes. Entrance-to-entrance
+// costs inside every cluster are computed once in the constructor, so a query only searches
+// the small abstract graph and then refines each abstract edge inside a single cluster.
+//
+// Paths are near-optimal: crossings are limited to the chosen entrance cells.
+public class HPA_star {
+
+    static final int DEFAULT_CLUSTER_SIZE = 16;
+    static final int MAX_SINGLE_ENTRANCE = 6; // longer border openings get an entrance at each end
+
+    private int[][] GRID;
+    private int ROWS, COLS;
+    private int K; // cluster size
+    private int clusterCols;
+
+    // Abstract graph in compressed sparse row form
+    private int numNodes;
+    private int[] nodeCell; // node -> cell
+    private int[] nodeOf; // cell -> node, -1 when the cell is not an entrance
+    private int[] edgeStart; // edges of node u are edgeStart[u] .. edgeStart[u + 1] - 1
+    private int[] edgeTarget, edgeCost;
+    private int[][] clusterNodes; // cluster -> its entrance nodes
+
+    private boolean useHeuristic;
+    private double preprocessTime;
+
+    public HPA_star(int[][] grid, int rows, int cols) {
+        this(grid, rows, cols, DEFAULT_CLUSTER_SIZE);
+    }
+
+    public HPA_star(int[][] grid, int rows, int cols, int clusterSize) {
+        if (clusterSize < 2)
+            throw new IllegalArgumentException("Cluster size must be at least 2: " + clusterSize);
+        this.GRID = grid;
+        this.ROWS = rows;
+        this.COLS = cols;
+        this.K = clusterSize;
+        this.clusterCols = (cols + K - 1) / K;
+
+        long startTime = System.nanoTime();
+        preprocess();
+        preprocessTime = (System.nanoTime() - startTime) / 1e9;
+    }
+
+    public double getPreprocessTime() {
+        return preprocessTime;
+    }
+
+    public int getNodeCount() {
+        return numNodes;
+    }
+
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    // PREPROCESSING
+
+    private void preprocess() {
+        int minWeight = Integer.MAX_VALUE;
+        for (int[] row : GRID)
+            for (int w : row)
+                if (w != -1)
+                    minWeight = Math.min(minWeight, w);
+        useHeuristic = minWeight >= 1;
+
+        nodeOf = new int[ROWS * COLS];
+        Arrays.fill(nodeOf, -1);
+        IntList cells = new IntList();
+        IntList from = new IntList(), to = new IntList(), cost = new IntList();
+
+        // 1. Entrances on vertical borders (between cluster columns), then horizontal ones
+        for (int c = K - 1; c + 1 < COLS; c += K) {
+            for (int r0 = 0; r0 < ROWS; r0 += K) {
+                int r1 = Math.min(r0 + K, ROWS);
+                addEntrances(r0, r1, c, true, cells, from, to, cost);
+            }
+        }
+        for (int r = K - 1; r + 1 < ROWS; r += K) {
+            for (int c0 = 0; c0 < COLS; c0 += K) {
+                int c1 = Math.min(c0 + K, COLS);
+                addEntrances(c0, c1, r, false, cells, from, to, cost);
+            }
+        }
+        numNodes = cells.size;
+        nodeCell = cells.toArray();
+
+        // 2. Group nodes by cluster
+        int numClusters = ((ROWS + K - 1) / K) * clusterCols;
+        IntList[] byCluster = new IntList[numClusters];
+        for (int u = 0; u < numNodes; u++) {
+            int cl = clusterOf(nodeCell[u]);
+            if (byCluster[cl] == null)
+                byCluster[cl] = new IntList();
+            byCluster[cl].add(u);
+        }
+        clusterNodes = new int[numClusters][];
+        for (int cl = 0; cl < numClusters; cl++)
+            clusterNodes[cl] = byCluster[cl] == null ? new int[0] : byCluster[cl].toArray();
+
+        // 3. Intra-cluster edges: one bounded search per entrance
+        ClusterSearch search = new ClusterSearch();
+        for (int cl = 0; cl < numClusters; cl++) {
+            int[] members = clusterNodes[cl];
+            for (int u : members) {
+                search.run(nodeCell[u], -1, false);
+                for (int v : members) {
+                    if (v != u && search.reached(nodeCell[v])) {
+                        from.add(u);
+                        to.add(v);
+                        cost.add(search.distTo(nodeCell[v]));
+                    }
+                }
+            }
+        }
+
+        // 4. Compressed sparse rows
+        edgeStart = new int[numNodes + 1];
+        for (int i = 0; i < from.size; i++)
+            edgeStart[from.get(i) + 1]++;
+        for (int u = 0; u < numNodes; u++)
+            edgeStart[u + 1] += edgeStart[u];
+        edgeTarget = new int[from.size];
+        edgeCost = new int[from.size];
+        int[] fill = Arrays.copyOf(edgeStart, numNodes);
+        for (int i = 0; i < from.size; i++) {
+            int slot = fill[from.get(i)]++;
+            edgeTarget[slot] = to.get(i);
+            edgeCost[slot] = cost.get(i);
+        }
+    }
+
+    // Scans one border segment for open stretches. vertical: border between columns
+    // line and line + 1, spanning rows lo..hi-1; otherwise between rows line and line + 1.
+    private void addEntrances(int lo, int hi, int line, boolean vertical, IntList cells, IntList from, IntList to,
+            IntList cost) {
+        int runStart = -1;
+        for (int i = lo; i <= hi; i++) {
+            boolean open = i < hi && (vertical
+                    ? GRID[i][line] != -1 && GRID[i][line + 1] != -1
+                    : GRID[line][i] != -1 && GRID[line + 1][i] != -1);
+            if (open && runStart == -1) {
+                runStart = i;
+            } else if (!open && runStart != -1) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 <= MAX_SINGLE_ENTRANCE) {
+                    addTransition((runStart + runEnd) / 2, line, vertical, cells, from, to, cost);
+                } else {
+                    addTransition(runStart, line, vertical, cells, from, to, cost);
+                    addTransition(runEnd, line, vertical, cells, from, to, cost);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    private void addTransition(int i, int line, boolean vertical, IntList cells, IntList from, IntList to,
+            IntList cost) {
+        int a = vertical ? i * COLS + line : line * COLS + i;
+        int b = vertical ? a + 1 : a + COLS;
+        int na = nodeFor(a, cells);
+        int nb = nodeFor(b, cells);
+        // Entering a cell costs its weight, so the two directions differ
+        from.add(na);
+        to.add(nb);
+        cost.add(weight(b));
+        from.add(nb);
+        to.add(na);
+        cost.add(weight(a));
+    }
+
+    private int nodeFor(int cell, IntList cells) {
+        if (nodeOf[cell] == -1) {
+            nodeOf[cell] = cells.size;
+            cells.add(cell);
+        }
+        return nodeOf[cell];
+    }
+
+    // QUERY
+
+    // One start/goal pair as a PathSolver; every solver made here shares this preprocessing
+    public PathSolver solver(int[] start, int[] goal) {
+        return new PathSolver() {
+            public A_star.Result run() {
+                return HPA_star.this.run(start, goal);
+            }
+
+            public String getName() {
+                return "HPA_star";
+            }
+        };
+    }
+
+    // Setup covers connecting start and goal to their clusters, search the abstract A*,
+    // and reconstruction the refinement back to cells
+    public A_star.Result run(int[] start, int[] goal) {
+        long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+        A_star.Result res = new A_star.Result();
+        res.path = GridPath.EMPTY;
+
+        int startCell = start[0] * COLS + start[1];
+        int goalCell = goal[0] * COLS + goal[1];
+        if (GRID[start[0]][start[1]] == -1 || GRID[goal[0]][goal[1]] == -1) {
+            res.success = false;
+            long now = System.nanoTime();
+            res.recordPhases(startTime, now, now, now);
+            res.recordAllocation(bytesMark);
+            return res;
+        }
+
+        // Start and goal join the abstract graph as two temporary nodes
+        int S = numNodes, T = numNodes + 1;
+        int startCluster = clusterOf(startCell);
+        int goalCluster = clusterOf(goalCell);
+        ClusterSearch search = new ClusterSearch();
+
+        int[] startNodes = clusterNodes[startCluster];
+        int[] startCosts = new int[startNodes.length];
+        search.run(startCell, -1, false);
+        int visitedCount = search.expanded;
+        for (int i = 0; i < startNodes.length; i++)
+            startCosts[i] = search.reached(nodeCell[startNodes[i]]) ? search.distTo(nodeCell[startNodes[i]]) : -1;
+        int direct = startCluster == goalCluster && search.reached(goalCell) ? search.distTo(goalCell) : -1;
+
+        int[] goalNodes = clusterNodes[goalCluster];
+        int[] goalCosts = new int[goalNodes.length];
+        search.run(goalCell, -1, true);
+        visitedCount += search.expanded;
+        for (int i = 0; i < goalNodes.length; i++)
+            goalCosts[i] = search.reached(nodeCell[goalNodes[i]]) ? search.distTo(nodeCell[goalNodes[i]]) : -1;
+
+        // Abstract A*
+        int n = numNodes + 2;
+        int[] g = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(g, Integer.MAX_VALUE);
+        IndexedMinHeap open = new IndexedMinHeap(n);
+        g[S] = 0;
+        parent[S] = -1;
+        open.pushOrDecrease(S, heuristic(startCell, goal));
+
+        boolean found = false;
+        long searchStart = System.nanoTime();
+        while (!open.isEmpty()) {
+            int u = open.pop();
+            visitedCount++;
+            if (u == T) {
+                found = true;
+                break;
+            }
+
+            if (u == S) {
+                for (int i = 0; i < startNodes.length; i++)
+                    if (startCosts[i] >= 0)
+                        relax(S, startNodes[i], startCosts[i], g, parent, open, goal);
+                if (direct >= 0)
+                    relax(S, T, direct, g, parent, open, goal);
+                continue;
+            }
+
+            for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++)
+                relax(u, edgeTarget[e], edgeCost[e], g, parent, open, goal);
+            if (clusterOf(nodeCell[u]) == goalCluster) {
+                for (int i = 0; i < goalNodes.length; i++)
+                    if (goalNodes[i] == u && goalCosts[i] >= 0)
+                        relax(u, T, goalCosts[i], g, parent, open, goal);
+            }
+        }
+
+        long reconstructStart = System.nanoTime();
+        if (found) {
+            // Refine: abstract nodes -> cells, one bounded search per intra-cluster hop
+            IntList hops = new IntList();
+            for (int u = T; u != -1; u = parent[u])
+                hops.add(u == S ? startCell : u == T ? goalCell : nodeCell[u]);
+
+            GridPath.Builder path = new GridPath.Builder(COLS).add(startCell);
+            for (int i = hops.size - 1; i > 0; i--) {
+                int a = hops.get(i), b = hops.get(i - 1);
+                if (a == b)
+                    continue;
+                if (clusterOf(a) != clusterOf(b)) {
+                    path.add(b); // border crossing
+                } else {
+                    search.run(a, b, false);
+                    visitedCount += search.expanded;
+                    search.appendPath(b, path);
+                }
+            }
+            res.path = path.build();
+            res.success = true;
+            res.cost = g[T];
+        } else {
+            res.success = false;
+        }
+
+        res.visitedCount = visitedCount;
+        res.recordHeap(open);
+        res.recordHeap(search.heap);
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+        return res;
+    }
+
+    private void relax(int u, int v, int w, int[] g, int[] parent, IndexedMinHeap open, int[] goal) {
+        int newG = g[u] + w;
+        if (newG < g[v]) {
+            g[v] = newG;
+            parent[v] = u;
+            int cell = v == numNodes + 1 ? goal[0] * COLS + goal[1] : nodeCell[v];
+            open.pushOrDecrease(v, newG + heuristic(cell, goal));
+        }
+    }
+
+    private int heuristic(int cell, int[] goal) {
+        if (!useHeuristic)
+            return 0;
+        return Math.abs(cell / COLS - goal[0]) + Math.abs(cell % COLS - goal[1]);
+    }
+
+    private int clusterOf(int cell) {
+        return (cell / COLS / K) * clusterCols + (cell % COLS) / K;
+    }
+
+    private int weight(int cell) {
+        return GRID[cell / COLS][cell % COLS];
+    }
+
+    // Dijkstra confined to one cluster, on local arrays reused between searches
+    private class ClusterSearch {
+        private final int[] dist = new int[K * K];
+        private final int[] parent = new int[K * K];
+        private final IndexedMinHeap heap = new IndexedMinHeap(K * K);
+        private int r0, c0, h, w;
+        int expanded;
+
+        // reverse = distances towards source (charging the weight of the cell being left)
+        void run(int source, int target, boolean reverse) {
+            r0 = (source / COLS) / K * K;
+            c0 = (source % COLS) / K * K;
+            h = Math.min(K, ROWS - r0);
+            w = Math.min(K, COLS - c0);
+            Arrays.fill(dist, Integer.MAX_VALUE);
+            heap.clear();
+            expanded = 0;
+
+            int src = local(source);
+            dist[src] = 0;
+            parent[src] = -1;
+            heap.pushOrDecrease(src, 0);
+            int tgt = target == -1 ? -1 : local(target);
+
+            while (!heap.isEmpty()) {
+                int curr = heap.pop();
+                expanded++;
+                if (curr == tgt)
+                    return;
+                int lr = curr / w, lc = curr % w;
+                for (int d = 0; d < 4; d++) {
+                    int nr = lr, nc = lc;
+                    if (d == 0) nr--;
+                    else if (d == 1) nr++;
+                    else if (d == 2) nc--;
+                    else nc++;
+                    if (nr < 0 || nr >= h || nc < 0 || nc >= w || GRID[r0 + nr][c0 + nc] == -1)
+                        continue;
+                    int next = nr * w + nc;
+                    int step = reverse ? GRID[r0 + lr][c0 + lc] : GRID[r0 + nr][c0 + nc];
+                    if (dist[curr] + step < dist[next]) {
+                        dist[next] = dist[curr] + step;
+                        parent[next] = curr;
+                        heap.pushOrDecrease(next, dist[next]);
+                    }
+                }
+            }
+        }
+
+        boolean reached(int cell) {
+            return dist[local(cell)] != Integer.MAX_VALUE;
+        }
+
+        int distTo(int cell) {
+            return dist[local(cell)];
+        }
+
+        // Appends the cells after the source up to and including target
+        void appendPath(int target, GridPath.Builder out) {
+            int length = 0;
+            for (int l = local(target); parent[l] != -1; l = parent[l])
+                length++;
+            int[] steps = new int[length];
+            int i = length;
+            for (int l = local(target); parent[l] != -1; l = parent[l])
+                steps[--i] = (r0 + l / w) * COLS + c0 + l % w;
+            out.addAll(steps, 0, length);
+        }
+
+        private int local(int cell) {
+            return (cell / COLS - r0) * w + (cell % COLS - c0);
+        }
+    }
+}
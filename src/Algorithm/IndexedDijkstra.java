@@ -0,0 +1,90 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Dijkstra without per-node objects: flat cost/parent arrays and an indexed heap with decrease-key.
+// Same inputs and Result as Dijkstra.
+public class IndexedDijkstra implements PathSolver {
+    private int[][] GRID;
+    private int ROWS, COLS;
+    private int[] START, GOAL;
+
+    public IndexedDijkstra(int[][] grid, int rows, int cols, int[] start, int[] goal) {
+        this.GRID = grid;
+        this.ROWS = rows;
+        this.COLS = cols;
+        this.START = start;
+        this.GOAL = goal;
+    }
+
+    public Dijkstra.Result run() {
+        long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+
+        int cells = ROWS * COLS;
+        int[] minCosts = new int[cells];
+        int[] parent = new int[cells];
+        Arrays.fill(minCosts, Integer.MAX_VALUE);
+
+        int startCell = START[0] * COLS + START[1];
+        int goalCell = GOAL[0] * COLS + GOAL[1];
+
+        IndexedMinHeap pq = new IndexedMinHeap(cells);
+        minCosts[startCell] = 0;
+        parent[startCell] = -1;
+        pq.pushOrDecrease(startCell, 0);
+
+        int visitedCount = 0;
+        boolean found = false;
+
+        long searchStart = System.nanoTime();
+        while (!pq.isEmpty()) {
+            int curr = pq.pop();
+            visitedCount++;
+
+            if (curr == goalCell) {
+                found = true;
+                break;
+            }
+
+            int r = curr / COLS;
+            int c = curr % COLS;
+            int cost = minCosts[curr];
+
+            for (int d = 0; d < 4; d++) {
+                int nr = r, nc = c;
+                if (d == 0) nr--;
+                else if (d == 1) nr++;
+                else if (d == 2) nc--;
+                else nc++;
+
+                if (nr >= 0 && nr < ROWS && nc >= 0 && nc < COLS && GRID[nr][nc] != -1) {
+                    int next = nr * COLS + nc;
+                    int newCost = cost + GRID[nr][nc];
+                    if (newCost < minCosts[next]) {
+                        minCosts[next] = newCost;
+                        parent[next] = curr;
+                        pq.pushOrDecrease(next, newCost);
+                    }
+                }
+            }
+        }
+
+        long reconstructStart = System.nanoTime();
+        Dijkstra.Result res = new Dijkstra.Result();
+        res.visitedCount = visitedCount;
+        res.recordHeap(pq);
+
+        if (found) {
+            res.success = true;
+            res.cost = minCosts[goalCell];
+            res.path = GridPath.fromParents(parent, goalCell, COLS);
+        } else {
+            res.success = false;
+            res.path = GridPath.EMPTY;
+        }
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+        return res;
+    }
+}
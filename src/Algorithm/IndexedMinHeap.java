@@ -0,0 +1,176 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Binary min-heap over cell indices 0..capacity-1 with decrease-key.
+// Each cell is in the heap at most once, so there are no stale entries.
+// Keys are longs so callers can pack two-part keys (e.g. D* Lite) into one value.
+public class IndexedMinHeap {
+
+    private final int[] heap; // heap slot -> cell
+    private final int[] pos; // cell -> heap slot, -1 when absent
+    private final long[] key; // cell -> priority
+    private int size;
+
+    // Operation counters for SolverResult; decrease-keys count as pushes
+    private long pushes, pops;
+    private int peakSize;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.key = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int cell) {
+        return pos[cell] != -1;
+    }
+
+    public long keyOf(int cell) {
+        return key[cell];
+    }
+
+    // Inserts cell, or lowers its key if it is already queued with a higher one
+    public void pushOrDecrease(int cell, long k) {
+        int slot = pos[cell];
+        if (slot == -1) {
+            slot = size++;
+            heap[slot] = cell;
+            pos[cell] = slot;
+            key[cell] = k;
+            siftUp(slot);
+            pushes++;
+            if (size > peakSize)
+                peakSize = size;
+        } else if (k < key[cell]) {
+            key[cell] = k;
+            siftUp(slot);
+            pushes++;
+        }
+    }
+
+    // Sets the key of a queued cell in either direction, or inserts it
+    public void update(int cell, long k) {
+        int slot = pos[cell];
+        if (slot == -1) {
+            pushOrDecrease(cell, k);
+            return;
+        }
+        long old = key[cell];
+        key[cell] = k;
+        pushes++;
+        if (k < old)
+            siftUp(slot);
+        else
+            siftDown(slot);
+    }
+
+    // Removes cell if it is queued
+    public void remove(int cell) {
+        int slot = pos[cell];
+        if (slot == -1)
+            return;
+        pos[cell] = -1;
+        size--;
+        if (slot < size) {
+            int last = heap[size];
+            heap[slot] = last;
+            pos[last] = slot;
+            siftDown(slot);
+            siftUp(pos[last]);
+        }
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public long peekKey() {
+        return key[heap[0]];
+    }
+
+    // Removes and returns the cell with the smallest key
+    public int pop() {
+        int top = heap[0];
+        pos[top] = -1;
+        size--;
+        pops++;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    // Empties the heap in O(size)
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    // Starts the counters over, for a heap reused across searches
+    void resetCounters() {
+        pushes = 0;
+        pops = 0;
+        peakSize = size;
+    }
+
+    public long getPushes() {
+        return pushes;
+    }
+
+    public long getPops() {
+        return pops;
+    }
+
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+    private void siftUp(int slot) {
+        int cell = heap[slot];
+        long k = key[cell];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parentCell = heap[parentSlot];
+            if (key[parentCell] <= k)
+                break;
+            heap[slot] = parentCell;
+            pos[parentCell] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = cell;
+        pos[cell] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int cell = heap[slot];
+        long k = key[cell];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && key[heap[right]] < key[heap[child]])
+                child = right;
+            if (key[heap[child]] >= k)
+                break;
+            heap[slot] = heap[child];
+            pos[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = cell;
+        pos[cell] = slot;
+    }
+}
@@ -0,0 +1,45 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Growable int array for building graphs and index tables without boxing
+class IntList {
+    int[] data;
+    int size;
+
+    IntList() {
+        this(16);
+    }
+
+    IntList(int capacity) {
+        data = new int[Math.max(1, capacity)];
+    }
+
+    void add(int v) {
+        if (size == data.length)
+            data = Arrays.copyOf(data, size * 2);
+        data[size++] = v;
+    }
+
+    int get(int i) {
+        return data[i];
+    }
+
+    void set(int i, int v) {
+        data[i] = v;
+    }
+
+    // Removes the first occurrence of v by moving the last element into its slot
+    void remove(int v) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == v) {
+                data[i] = data[--size];
+                return;
+            }
+        }
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
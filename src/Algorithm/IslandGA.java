@@ -0,0 +1,212 @@
+package Algorithm;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Island model: independent GA populations evolve on separate threads and pass
+// their best individuals around a ring every few generations.
+public class IslandGA implements PathSolver {
+
+    private int[][] grid;
+    private int rows, cols;
+    private int[] start, goal;
+
+    // Island Parameters
+    private int numIslands = Runtime.getRuntime().availableProcessors();
+    private int migrationInterval = 50;
+    private int migrantsPerExchange = 2;
+
+    // Per-island GA Parameters
+    private int populationSize = 50;
+    private int maxGenerations = 2000;
+    private int elitism = 1;
+    private double mutationRate = 0.1;
+    private List<StoppingCriterion> stoppingCriteria = new ArrayList<>();
+    private Long seed; // null = fresh seed per run
+    private DistanceField goalDistances;
+    private ComponentLabels components;
+
+    // What one island needs to take part in migration
+    static class Link {
+        final MigrationChannel inbox, outbox;
+        final int interval;
+        final int migrants;
+
+        Link(MigrationChannel inbox, MigrationChannel outbox, int interval, int migrants) {
+            this.inbox = inbox;
+            this.outbox = outbox;
+            this.interval = interval;
+            this.migrants = migrants;
+        }
+    }
+
+    public static class IslandStat {
+        public int island;
+        public int bestCost;
+        public double timeTaken;
+        public long emigrants;
+        public long immigrants;
+        public String stopReason;
+        public int stopGeneration;
+        public long seed;
+        public List<GA.GenerationStat> history;
+    }
+
+    // path/cost hold the global hall of fame: the best individual found on any island
+    public static class Result extends GA.Result {
+        public List<IslandStat> islands = new ArrayList<>();
+        public int bestIsland;
+    }
+
+    public IslandGA(int[][] grid, int rows, int cols, int[] start, int[] goal) {
+        this.grid = grid;
+        this.rows = rows;
+        this.cols = cols;
+        this.start = start;
+        this.goal = goal;
+    }
+
+    public void setParameters(int popSize, int generations, int elitism, double mutation) {
+        this.populationSize = popSize;
+        this.maxGenerations = generations;
+        this.elitism = elitism;
+        this.mutationRate = mutation;
+    }
+
+    public void setIslands(int islands, int migrationInterval, int migrants) {
+        if (islands < 1 || migrationInterval < 1 || migrants < 1 || migrants >= populationSize)
+            throw new IllegalArgumentException("Invalid island settings: islands=" + islands + ", interval="
+                    + migrationInterval + ", migrants=" + migrants);
+        this.numIslands = islands;
+        this.migrationInterval = migrationInterval;
+        this.migrantsPerExchange = migrants;
+    }
+
+    // Island seeds are split from this one. Migration timing still depends on
+    // thread scheduling, so only runs with a single island replay exactly.
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Shared by every island, see GA.setGoalDistances
+    public void setGoalDistances(DistanceField field) {
+        this.goalDistances = field;
+    }
+
+    // Shared by every island, see GA.setComponents
+    public void setComponents(ComponentLabels labels) {
+        this.components = labels;
+    }
+
+    // Applied to every island; each island stops on its own
+    public void addStoppingCriterion(StoppingCriterion criterion) {
+        stoppingCriteria.add(criterion);
+    }
+
+    public Result run() {
+        // Checked here too: setParameters() may shrink the population after setIslands()
+        if (migrantsPerExchange >= populationSize)
+            throw new IllegalArgumentException("Migrants per exchange (" + migrantsPerExchange
+                    + ") must be fewer than the population (" + populationSize + ")");
+        long startTime = System.nanoTime();
+        long bytesMark = SolverResult.allocatedBytes();
+
+        // All islands search the same map, so they share the segment cache and tree store
+        SegmentCostCache sharedCache = new SegmentCostCache(GA.DEFAULT_CACHE_CAPACITY,
+                SegmentCostCache.EvictionPolicy.LRU);
+        ShortestPathTreeStore sharedTrees = new ShortestPathTreeStore(GA.DEFAULT_TREE_STORE_BYTES);
+        if (components == null)
+            components = ComponentLabels.build(grid, rows, cols);
+
+        // Ring topology: island i sends to island i + 1
+        MigrationChannel[] channels = new MigrationChannel[numIslands];
+        for (int i = 0; i < numIslands; i++)
+            channels[i] = new MigrationChannel(migrantsPerExchange * 4);
+
+        long runSeed = seed != null ? seed : new SplittableRandom().nextLong();
+        SplittableRandom seeds = new SplittableRandom(runSeed);
+
+        List<GA> islands = new ArrayList<>();
+        for (int i = 0; i < numIslands; i++) {
+            GA ga = new GA(grid, rows, cols, start, goal);
+            ga.setParameters(populationSize, maxGenerations, elitism, mutationRate);
+            ga.setSeed(seeds.split().nextLong());
+            ga.shareCaches(sharedCache, sharedTrees);
+            ga.setGoalDistances(goalDistances);
+            ga.setComponents(components);
+            ga.exportStats = false;
+            for (StoppingCriterion criterion : stoppingCriteria)
+                ga.addStoppingCriterion(criterion);
+            if (numIslands > 1) {
+                ga.migration = new Link(channels[(i + numIslands - 1) % numIslands], channels[i],
+                        migrationInterval, migrantsPerExchange);
+            }
+            islands.add(ga);
+        }
+
+        long searchStart = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(numIslands);
+        List<GA.Result> results = new ArrayList<>();
+        try {
+            List<Future<GA.Result>> futures = new ArrayList<>();
+            for (GA ga : islands)
+                futures.add(executor.submit(ga::run));
+            for (Future<GA.Result> f : futures)
+                results.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Island run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Island failed: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Collect Results
+        long reconstructStart = System.nanoTime();
+        Result res = new Result();
+        for (int i = 0; i < numIslands; i++) {
+            GA.Result r = results.get(i);
+            IslandStat stat = new IslandStat();
+            stat.island = i;
+            stat.bestCost = r.cost;
+            stat.timeTaken = r.timeTaken;
+            stat.emigrants = channels[i].getSent();
+            stat.immigrants = channels[(i + numIslands - 1) % numIslands].getReceived();
+            stat.history = r.history;
+            stat.stopReason = r.stopReason;
+            stat.stopGeneration = r.stopGeneration;
+            stat.seed = r.seed;
+            res.islands.add(stat);
+
+            if (i == 0 || r.cost < results.get(res.bestIsland).cost)
+                res.bestIsland = i;
+        }
+
+        GA.Result best = results.get(res.bestIsland);
+        res.path = best.path;
+        res.cost = best.cost;
+        res.success = best.success;
+        res.history = best.history;
+        res.stopReason = best.stopReason;
+        res.stopGeneration = best.stopGeneration;
+        res.seed = runSeed;
+        res.cacheHits = sharedCache.getHits();
+        res.cacheMisses = sharedCache.getMisses();
+        res.recordPhases(startTime, searchStart, reconstructStart, System.nanoTime());
+        res.recordAllocation(bytesMark);
+
+        File dataDir = new File("Data");
+        if (!dataDir.exists()) {
+            dataDir.mkdir();
+        }
+        GA.exportToCSV(best.history, new File(dataDir, "ga_stats.csv").getPath());
+        return res;
+    }
+}
@@ -0,0 +1,163 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// ALT preprocessing for one map: a few landmark cells plus exact distances from every
+// landmark to every cell and from every cell back to it. Moving into a cell costs its
+// weight, so the two directions are stored separately.
+public class LandmarkTable {
+
+    static final int DEFAULT_LANDMARKS = 8;
+    static final int INF = Integer.MAX_VALUE;
+
+    private final int rows, cols;
+    private final int[] landmarks; // landmark cells
+    private final int[][] fromLandmark; // [i][v] = d(landmark i, v)
+    private final int[][] toLandmark; // [i][v] = d(v, landmark i)
+    private double preprocessTime;
+
+    public LandmarkTable(int[][] grid, int rows, int cols) {
+        this(grid, rows, cols, DEFAULT_LANDMARKS);
+    }
+
+    public LandmarkTable(int[][] grid, int rows, int cols, int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("Need at least one landmark: " + count);
+        long startTime = System.nanoTime();
+        this.rows = rows;
+        this.cols = cols;
+
+        int[] chosen = new int[count];
+        int[][] from = new int[count][];
+        int[][] to = new int[count][];
+
+        // Farthest-point selection: start from the cell farthest from any open cell,
+        // then keep adding the cell farthest from all landmarks picked so far
+        int seed = firstOpenCell(grid);
+        int[] nearest = dijkstra(grid, seed, false);
+        int picked = 0;
+        while (picked < count) {
+            int next = farthest(nearest);
+            if (next == -1 || (picked > 0 && nearest[next] == 0))
+                break; // fewer distinct reachable cells than landmarks
+            chosen[picked] = next;
+            from[picked] = dijkstra(grid, next, false);
+            to[picked] = dijkstra(grid, next, true);
+            if (picked == 0)
+                Arrays.fill(nearest, INF);
+            for (int v = 0; v < nearest.length; v++)
+                nearest[v] = Math.min(nearest[v], from[picked][v]);
+            picked++;
+        }
+
+        this.landmarks = Arrays.copyOf(chosen, picked);
+        this.fromLandmark = Arrays.copyOf(from, picked);
+        this.toLandmark = Arrays.copyOf(to, picked);
+        this.preprocessTime = (System.nanoTime() - startTime) / 1e9;
+    }
+
+    // Rebuilt from stored arrays by MapArtifactCache
+    LandmarkTable(int rows, int cols, int[] landmarks, int[][] fromLandmark, int[][] toLandmark,
+            double preprocessTime) {
+        this.rows = rows;
+        this.cols = cols;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        this.preprocessTime = preprocessTime;
+    }
+
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    public int[] getLandmarkCell(int i) {
+        return new int[] { landmarks[i] / cols, landmarks[i] % cols };
+    }
+
+    public double getPreprocessTime() {
+        return preprocessTime;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    int[] landmarkCells() {
+        return landmarks;
+    }
+
+    int[] fromLandmark(int i) {
+        return fromLandmark[i];
+    }
+
+    int[] toLandmark(int i) {
+        return toLandmark[i];
+    }
+
+    // Lower bound on d(cell, goal) by the triangle inequality over every landmark L:
+    // d(L, goal) - d(L, cell) and d(cell, L) - d(goal, L)
+    public int lowerBound(int cell, int goal) {
+        int best = 0;
+        for (int i = 0; i < landmarks.length; i++) {
+            int[] from = fromLandmark[i];
+            int[] to = toLandmark[i];
+            if (from[goal] != INF && from[cell] != INF)
+                best = Math.max(best, from[goal] - from[cell]);
+            if (to[cell] != INF && to[goal] != INF)
+                best = Math.max(best, to[cell] - to[goal]);
+        }
+        return best;
+    }
+
+    // reverse = distances from every cell to source instead of from source
+    private int[] dijkstra(int[][] grid, int source, boolean reverse) {
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, INF);
+        IndexedMinHeap heap = new IndexedMinHeap(rows * cols);
+        dist[source] = 0;
+        heap.pushOrDecrease(source, 0);
+
+        while (!heap.isEmpty()) {
+            int curr = heap.pop();
+            int r = curr / cols;
+            int c = curr % cols;
+            for (int d = 0; d < 4; d++) {
+                int nr = r, nc = c;
+                if (d == 0) nr--;
+                else if (d == 1) nr++;
+                else if (d == 2) nc--;
+                else nc++;
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || grid[nr][nc] == -1)
+                    continue;
+                int next = nr * cols + nc;
+                int newDist = dist[curr] + (reverse ? grid[r][c] : grid[nr][nc]);
+                if (newDist < dist[next]) {
+                    dist[next] = newDist;
+                    heap.pushOrDecrease(next, newDist);
+                }
+            }
+        }
+        return dist;
+    }
+
+    private int firstOpenCell(int[][] grid) {
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                if (grid[r][c] != -1)
+                    return r * cols + c;
+        throw new IllegalArgumentException("Map has no open cells");
+    }
+
+    private static int farthest(int[] dist) {
+        int best = -1;
+        for (int v = 0; v < dist.length; v++)
+            if (dist[v] != INF && (best == -1 || dist[v] > dist[best]))
+                best = v;
+        return best;
+    }
+}
@@ -0,0 +1,305 @@
+package Algorithm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// On-disk cache of per-map preprocessing: component labels, goal distance fields and
+// landmark tables. Artifacts live in <root>/<grid hash>/, so a changed map gets a new
+// directory and never sees artifacts built for its old contents.
+//
+// Each artifact file is a fixed header followed by int arrays, each prefixed by its length:
+//
+//   int  magic      "MZAC"
+//   int  version    FORMAT_VERSION
+//   int  kind
+//   int  rows, cols
+//   int  arrays
+//   long gridHash
+//   long checksum   CRC32 of everything after the header
+//
+// Files are memory-mapped and copied out in bulk. A file whose header does not match the
+// current version, kind, size or hash, whose body fails the checksum, or whose arrays do
+// not describe a valid artifact is deleted and rebuilt.
+public class MapArtifactCache {
+
+    public static final File DEFAULT_ROOT = new File("Data", "cache");
+    public static final int FORMAT_VERSION = 2;
+    static final int MAGIC = 0x4D5A4143; // "MZAC"
+    static final int HEADER_BYTES = 40;
+
+    static final int KIND_COMPONENTS = 1;
+    static final int KIND_GOAL_DISTANCES = 2;
+    static final int KIND_LANDMARKS = 3;
+
+    private static final int WRITE_CHUNK = 1 << 16;
+
+    private final File directory;
+    private final int[][] grid;
+    private final int rows, cols;
+    private final long gridHash;
+
+    private int hits, misses, invalidations;
+
+    public MapArtifactCache(File root, int[][] grid, int rows, int cols) {
+        this.grid = grid;
+        this.rows = rows;
+        this.cols = cols;
+        this.gridHash = contentHash(grid, rows, cols);
+        this.directory = new File(root, String.format("%016x", gridHash));
+    }
+
+    // 64-bit FNV-1a over the size and every cell weight
+    public static long contentHash(int[][] grid, int rows, int cols) {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ rows) * 0x100000001b3L;
+        h = (h ^ cols) * 0x100000001b3L;
+        for (int r = 0; r < rows; r++) {
+            int[] row = grid[r];
+            for (int c = 0; c < cols; c++)
+                h = (h ^ row[c]) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    public long getGridHash() {
+        return gridHash;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public ComponentLabels components() {
+        File file = new File(directory, "components.art");
+        int[][] arrays = read(file, KIND_COMPONENTS);
+        if (arrays != null && arrays.length == 2 && validLabels(arrays[0], arrays[1]))
+            return new ComponentLabels(cols, arrays[0], arrays[1]);
+        if (arrays != null)
+            reject(file);
+
+        ComponentLabels built = ComponentLabels.build(grid, rows, cols);
+        write(file, KIND_COMPONENTS, built.labelArray(), built.sizeArray());
+        return built;
+    }
+
+    // Cost from every cell to goal, in the move costs GA uses
+    public DistanceField goalDistances(int[] goal) {
+        int target = goal[0] * cols + goal[1];
+        File file = new File(directory, "goal-" + target + ".art");
+        int[][] arrays = read(file, KIND_GOAL_DISTANCES);
+        if (arrays != null && arrays.length == 2 && arrays[0].length == 1 && arrays[0][0] == target
+                && arrays[1].length == rows * cols)
+            return new DistanceField(target, arrays[1]);
+        if (arrays != null)
+            reject(file);
+
+        DistanceField built = DistanceField.toTarget(SegmentSearch.flatten(grid, rows, cols), rows, cols, target);
+        write(file, KIND_GOAL_DISTANCES, new int[] { target }, built.distArray());
+        return built;
+    }
+
+    public LandmarkTable landmarks() {
+        return landmarks(LandmarkTable.DEFAULT_LANDMARKS);
+    }
+
+    // Stored as the landmark cells, then every from-landmark array, then every to-landmark array
+    public LandmarkTable landmarks(int count) {
+        File file = new File(directory, "landmarks-" + count + ".art");
+        long startTime = System.nanoTime();
+        int[][] arrays = read(file, KIND_LANDMARKS);
+        if (arrays != null && arrays.length >= 1 && arrays.length == 1 + 2 * arrays[0].length) {
+            int n = arrays[0].length;
+            int[][] from = new int[n][];
+            int[][] to = new int[n][];
+            boolean valid = true;
+            for (int i = 0; i < n; i++) {
+                from[i] = arrays[1 + i];
+                to[i] = arrays[1 + n + i];
+                valid &= from[i].length == rows * cols && to[i].length == rows * cols;
+            }
+            if (valid)
+                return new LandmarkTable(rows, cols, arrays[0], from, to, (System.nanoTime() - startTime) / 1e9);
+        }
+        if (arrays != null)
+            reject(file);
+
+        LandmarkTable built = new LandmarkTable(grid, rows, cols, count);
+        int n = built.getLandmarkCount();
+        int[][] out = new int[1 + 2 * n][];
+        out[0] = built.landmarkCells();
+        for (int i = 0; i < n; i++) {
+            out[1 + i] = built.fromLandmark(i);
+            out[1 + n + i] = built.toLandmark(i);
+        }
+        write(file, KIND_LANDMARKS, out);
+        return built;
+    }
+
+    // Every label is a wall or a component id, and each component has exactly its stored size
+    private boolean validLabels(int[] labels, int[] sizes) {
+        if (labels.length != rows * cols)
+            return false;
+        int[] counts = new int[sizes.length];
+        for (int label : labels) {
+            if (label == ComponentLabels.WALL)
+                continue;
+            if (label < 0 || label >= sizes.length)
+                return false;
+            counts[label]++;
+        }
+        return Arrays.equals(counts, sizes);
+    }
+
+    // Deletes every artifact stored for this map
+    public void clear() {
+        File[] files = directory.listFiles();
+        if (files != null)
+            for (File f : files)
+                f.delete();
+        directory.delete();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getInvalidations() {
+        return invalidations;
+    }
+
+    public String summary() {
+        return String.format("%s: %d hits, %d misses, %d invalidated", directory.getPath(), hits, misses,
+                invalidations);
+    }
+
+    // FILE FORMAT
+
+    // Arrays stored in file, or null (counted as a miss) when it is missing or stale
+    private int[][] read(File file, int kind) {
+        if (!file.isFile()) {
+            misses++;
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= HEADER_BYTES && size % Integer.BYTES == 0) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                int[][] arrays = decode(mapped, kind);
+                if (arrays != null) {
+                    hits++;
+                    return arrays;
+                }
+            }
+        } catch (IOException e) {
+            // unreadable: rebuild below
+        }
+        misses++;
+        invalidate(file);
+        return null;
+    }
+
+    private void invalidate(File file) {
+        invalidations++;
+        file.delete();
+    }
+
+    // A file that passed read() but does not hold a valid artifact: turn its hit into a miss
+    private void reject(File file) {
+        hits--;
+        misses++;
+        invalidate(file);
+    }
+
+    private int[][] decode(ByteBuffer buffer, int kind) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getInt() != kind
+                || buffer.getInt() != rows || buffer.getInt() != cols)
+            return null;
+        int count = buffer.getInt();
+        if (buffer.getLong() != gridHash || count < 0)
+            return null;
+        long checksum = buffer.getLong();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if (crc.getValue() != checksum || count > buffer.remaining() / Integer.BYTES)
+            return null;
+
+        IntBuffer ints = buffer.asIntBuffer();
+        int[][] arrays = new int[count][];
+        for (int i = 0; i < count; i++) {
+            if (!ints.hasRemaining())
+                return null;
+            int length = ints.get();
+            if (length < 0 || length > ints.remaining())
+                return null;
+            arrays[i] = new int[length];
+            ints.get(arrays[i]);
+        }
+        return ints.hasRemaining() ? null : arrays;
+    }
+
+    // Written to a temporary file and moved into place, so a reader never sees half a file.
+    // A cache that cannot be written only costs the rebuild next time.
+    private void write(File file, int kind, int[]... arrays) {
+        File tmp = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            tmp = File.createTempFile(file.getName(), ".tmp", directory);
+            try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                // Body first, after room for the header; the header goes in last with the checksum
+                CRC32 crc = new CRC32();
+                channel.position(HEADER_BYTES);
+                ByteBuffer buffer = ByteBuffer.allocate(WRITE_CHUNK);
+                for (int[] array : arrays) {
+                    if (buffer.remaining() < Integer.BYTES)
+                        flush(channel, buffer, crc);
+                    buffer.putInt(array.length);
+                    // Bulk copy through an int view of whatever room the chunk has left
+                    for (int off = 0; off < array.length;) {
+                        if (buffer.remaining() < Integer.BYTES)
+                            flush(channel, buffer, crc);
+                        int n = Math.min(array.length - off, buffer.remaining() / Integer.BYTES);
+                        buffer.asIntBuffer().put(array, off, n);
+                        buffer.position(buffer.position() + n * Integer.BYTES);
+                        off += n;
+                    }
+                }
+                flush(channel, buffer, crc);
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(kind).putInt(rows).putInt(cols);
+                header.putInt(arrays.length).putLong(gridHash).putLong(crc.getValue());
+                header.flip();
+                for (long pos = 0; header.hasRemaining();)
+                    pos += channel.write(header, pos);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write map artifact " + file + ": " + e.getMessage());
+            if (tmp != null)
+                tmp.delete();
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -0,0 +1,148 @@
+package Algorithm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Shared loader for MAZE files. Text files have one cell per token, "<digits>" for a weight,
+// # for a wall, S and G for start and goal. Everything else is ignored.
+//
+// The file is read through a fixed byte buffer and tokenized in a single pass by a
+// small state machine, writing each row straight into an int[]; no strings, regexes
+// or boxed integers are created per cell.
+public class MapLoader {
+
+    // Move cost of the S and G cells, the same for every caller
+    public static final int MARKER_WEIGHT = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static class MapData {
+        public int[][] grid;
+        public int rows, cols;
+        public int[] start, goal; // null when the marker is missing
+        public long bytesRead;
+        public double loadTime; // seconds
+
+        public long getCellCount() {
+            return (long) rows * cols;
+        }
+
+        public double getMegabytesPerSecond() {
+            return loadTime == 0 ? 0.0 : bytesRead / (1024.0 * 1024.0) / loadTime;
+        }
+
+        public double getCellsPerSecond() {
+            return loadTime == 0 ? 0.0 : getCellCount() / loadTime;
+        }
+
+        public String summary() {
+            return String.format("%dx%d, %s in %.4fs (%.1f MB/s, %.2fM cells/s)", rows, cols,
+                    SolverResult.formatBytes(bytesRead), loadTime, getMegabytesPerSecond(),
+                    getCellsPerSecond() / 1e6);
+        }
+    }
+
+    // Binary .mzb files are memory-mapped and decoded into a full grid; anything else is parsed as text
+    public static MapData load(File file) throws IOException {
+        if (BinaryMaze.isBinary(file)) {
+            long startTime = System.nanoTime();
+            MapData map = BinaryMaze.open(file).toMapData();
+            map.loadTime = (System.nanoTime() - startTime) / 1e9;
+            return map;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            return parse(in);
+        }
+    }
+
+    // Rows shorter than the widest one are padded with walls
+    public static MapData parse(InputStream in) throws IOException {
+        long startTime = System.nanoTime();
+        MapData map = new MapData();
+
+        List<int[]> rows = new ArrayList<>();
+        int[] row = new int[256];
+        int width = 0; // cells in the current row
+        int maxCols = 0;
+
+        boolean inQuote = false;
+        int value = 0, digits = 0;
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            map.bytesRead += n;
+            for (int i = 0; i < n; i++) {
+                int b = buffer[i];
+                int cell = Integer.MIN_VALUE; // no token completed by this byte
+
+                if (inQuote) {
+                    if (b >= '0' && b <= '9') {
+                        value = value * 10 + (b - '0');
+                        digits++;
+                        continue;
+                    }
+                    inQuote = false;
+                    if (b == '"') {
+                        if (digits > 0)
+                            cell = value;
+                        b = 0; // consumed
+                    }
+                    // any other byte ends a broken token and is handled as usual
+                }
+
+                if (b == '"') {
+                    inQuote = true;
+                    value = 0;
+                    digits = 0;
+                    continue;
+                } else if (b == '#') {
+                    cell = -1;
+                } else if (b == 'S') {
+                    cell = MARKER_WEIGHT;
+                    map.start = new int[] { rows.size(), width };
+                } else if (b == 'G') {
+                    cell = MARKER_WEIGHT;
+                    map.goal = new int[] { rows.size(), width };
+                } else if (b == '\n') {
+                    if (width > 0) {
+                        rows.add(Arrays.copyOf(row, width));
+                        maxCols = Math.max(maxCols, width);
+                        width = 0;
+                    }
+                    continue;
+                }
+
+                if (cell != Integer.MIN_VALUE) {
+                    if (width == row.length)
+                        row = Arrays.copyOf(row, width * 2);
+                    row[width++] = cell;
+                }
+            }
+        }
+        if (width > 0) {
+            rows.add(Arrays.copyOf(row, width));
+            maxCols = Math.max(maxCols, width);
+        }
+
+        map.rows = rows.size();
+        map.cols = maxCols;
+        map.grid = new int[map.rows][];
+        for (int r = 0; r < map.rows; r++) {
+            int[] cells = rows.get(r);
+            if (cells.length < maxCols) {
+                int filled = cells.length;
+                cells = Arrays.copyOf(cells, maxCols);
+                Arrays.fill(cells, filled, maxCols, -1);
+            }
+            map.grid[r] = cells;
+        }
+        map.loadTime = (System.nanoTime() - startTime) / 1e9;
+        return map;
+    }
+}
@@ -0,0 +1,268 @@
+package Algorithm;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Seeded procedural mazes for scaling workloads. The same seed and settings always
+// give the same map. Cells are kept in one byte each while generating, so a
+// 10000x10000 map needs about 100MB instead of an int[][] four times that size.
+//
+// Maps have a wall border, S near the top-left and G near the bottom-right, and
+// S is always connected to G.
+public class MazeGenerator {
+
+    public enum Style {
+        SCATTERED, // independent random walls, plus one guaranteed staircase path
+        CORRIDORS // 1-cell corridors carved by a randomized depth-first search, opened up to the density
+    }
+
+    public enum Weights {
+        CONSTANT, // every open cell costs 1
+        UNIFORM, // 1..maxWeight with equal probability
+        SKEWED // mostly cheap cells with a few expensive ones
+    }
+
+    static final byte WALL = (byte) BinaryMaze.WALL_BYTE;
+    static final int MIN_SIZE = 5;
+
+    private final int rows, cols;
+    private long seed = 1;
+    private double wallDensity = 0.3;
+    private Style style = Style.SCATTERED;
+    private Weights weights = Weights.UNIFORM;
+    private int maxWeight = 10;
+
+    public MazeGenerator(int rows, int cols) {
+        if (rows < MIN_SIZE || cols < MIN_SIZE)
+            throw new IllegalArgumentException("Maze must be at least " + MIN_SIZE + "x" + MIN_SIZE);
+        if ((long) rows * cols > Integer.MAX_VALUE - BinaryMaze.HEADER_BYTES)
+            throw new IllegalArgumentException("Maze too large: " + rows + "x" + cols);
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Target share of wall cells inside the border, 0..1. CORRIDORS mazes start near
+    // 0.5 and are only opened up towards it, never closed further.
+    public void setWallDensity(double wallDensity) {
+        if (wallDensity < 0 || wallDensity >= 1)
+            throw new IllegalArgumentException("Wall density must be in [0, 1): " + wallDensity);
+        this.wallDensity = wallDensity;
+    }
+
+    public void setStyle(Style style) {
+        this.style = style;
+    }
+
+    public void setWeights(Weights weights, int maxWeight) {
+        if (maxWeight < 1 || maxWeight > BinaryMaze.MAX_WEIGHT)
+            throw new IllegalArgumentException("Max weight must be in 1.." + BinaryMaze.MAX_WEIGHT + ": " + maxWeight);
+        this.weights = weights;
+        this.maxWeight = maxWeight;
+    }
+
+    public int[] getStart() {
+        return new int[] { 1, 1 };
+    }
+
+    // Bottom-right interior cell, on an odd row/column so corridor mazes reach it
+    public int[] getGoal() {
+        return new int[] { lastOdd(rows - 2), lastOdd(cols - 2) };
+    }
+
+    private static int lastOdd(int i) {
+        return (i & 1) == 1 ? i : i - 1;
+    }
+
+    // GENERATION
+
+    // One byte per cell, row by row: WALL or the weight
+    byte[] generate() {
+        SplittableRandom random = new SplittableRandom(seed);
+        byte[] cells = new byte[rows * cols];
+        if (style == Style.CORRIDORS)
+            carveCorridors(cells, random);
+        else
+            scatterWalls(cells, random);
+        assignWeights(cells, random);
+        int[] goal = getGoal();
+        cells[cols + 1] = MapLoader.MARKER_WEIGHT; // S and G cost what the loader gives them
+        cells[goal[0] * cols + goal[1]] = MapLoader.MARKER_WEIGHT;
+        return cells;
+    }
+
+    private void scatterWalls(byte[] cells, SplittableRandom random) {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                boolean border = r == 0 || c == 0 || r == rows - 1 || c == cols - 1;
+                cells[r * cols + c] = border || random.nextDouble() < wallDensity ? WALL : 0;
+            }
+        }
+
+        // Random monotone staircase from S to G keeps the map solvable without a search
+        int[] goal = getGoal();
+        int r = 1, c = 1;
+        cells[r * cols + c] = 0;
+        while (r != goal[0] || c != goal[1]) {
+            int down = goal[0] - r, right = goal[1] - c;
+            if (random.nextInt(down + right) < down)
+                r++;
+            else
+                c++;
+            cells[r * cols + c] = 0;
+        }
+    }
+
+    // Randomized depth-first search over the odd cells. The way back is stored as one
+    // direction byte per maze cell instead of an explicit stack.
+    private void carveCorridors(byte[] cells, SplittableRandom random) {
+        Arrays.fill(cells, WALL);
+        int mazeRows = (rows - 1) / 2, mazeCols = (cols - 1) / 2;
+        byte[] cameFrom = new byte[mazeRows * mazeCols];
+        int[] dr = { -1, 1, 0, 0 };
+        int[] dc = { 0, 0, -1, 1 };
+        int[] options = new int[4];
+
+        int mr = 0, mc = 0;
+        cells[cols + 1] = 0;
+        cameFrom[0] = -1;
+        while (true) {
+            int count = 0;
+            for (int d = 0; d < 4; d++) {
+                int nr = mr + dr[d], nc = mc + dc[d];
+                if (nr >= 0 && nr < mazeRows && nc >= 0 && nc < mazeCols
+                        && cells[(2 * nr + 1) * cols + 2 * nc + 1] == WALL)
+                    options[count++] = d;
+            }
+            if (count > 0) {
+                int d = options[random.nextInt(count)];
+                int nr = mr + dr[d], nc = mc + dc[d];
+                cells[(2 * mr + 1 + dr[d]) * cols + 2 * mc + 1 + dc[d]] = 0; // wall between
+                cells[(2 * nr + 1) * cols + 2 * nc + 1] = 0;
+                cameFrom[nr * mazeCols + nc] = (byte) (d ^ 1); // opposite direction
+                mr = nr;
+                mc = nc;
+            } else {
+                int back = cameFrom[mr * mazeCols + mc];
+                if (back == -1)
+                    break;
+                mr += dr[back];
+                mc += dc[back];
+            }
+        }
+
+        // Knock out walls between corridors until the density target is met (creates loops)
+        long interior = (long) (rows - 2) * (cols - 2);
+        long walls = 0, breakable = 0;
+        for (int r = 1; r < rows - 1; r++) {
+            for (int c = 1; c < cols - 1; c++) {
+                if (cells[r * cols + c] == WALL) {
+                    walls++;
+                    if (isBreakable(cells, r, c))
+                        breakable++;
+                }
+            }
+        }
+        double excess = walls - wallDensity * interior;
+        if (excess <= 0 || breakable == 0)
+            return;
+        double p = Math.min(1.0, excess / breakable);
+        for (int r = 1; r < rows - 1; r++)
+            for (int c = 1; c < cols - 1; c++)
+                if (cells[r * cols + c] == WALL && isBreakable(cells, r, c) && random.nextDouble() < p)
+                    cells[r * cols + c] = 0;
+    }
+
+    // A wall that separates two corridors in a straight line
+    private boolean isBreakable(byte[] cells, int r, int c) {
+        boolean vertical = cells[(r - 1) * cols + c] != WALL && cells[(r + 1) * cols + c] != WALL;
+        boolean horizontal = cells[r * cols + c - 1] != WALL && cells[r * cols + c + 1] != WALL;
+        return vertical || horizontal;
+    }
+
+    private void assignWeights(byte[] cells, SplittableRandom random) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == WALL)
+                continue;
+            int w;
+            if (weights == Weights.CONSTANT) {
+                w = 1;
+            } else if (weights == Weights.UNIFORM) {
+                w = 1 + random.nextInt(maxWeight);
+            } else {
+                double u = random.nextDouble();
+                w = Math.min(maxWeight, 1 + (int) (maxWeight * u * u * u));
+            }
+            cells[i] = (byte) w;
+        }
+    }
+
+    // OUTPUT
+
+    // .mzb files are written in the binary format, anything else in the MAZE text format
+    public void write(File file) throws IOException {
+        byte[] cells = generate();
+        if (BinaryMaze.isBinary(file))
+            BinaryMaze.write(rows, cols, cells, getStart(), getGoal(), file);
+        else
+            writeText(cells, file);
+    }
+
+    // Same grid as loading a written file, without the file
+    public MapLoader.MapData toMapData() {
+        byte[] cells = generate();
+        MapLoader.MapData map = new MapLoader.MapData();
+        map.rows = rows;
+        map.cols = cols;
+        map.start = getStart();
+        map.goal = getGoal();
+        map.grid = new int[rows][cols];
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                map.grid[r][c] = cells[r * cols + c] == WALL ? -1 : cells[r * cols + c] & 0xFF;
+        return map;
+    }
+
+    // Streams one row at a time: #, S, G or "<weight>" per cell
+    private void writeText(byte[] cells, File file) throws IOException {
+        int startCell = cols + 1;
+        int[] goal = getGoal();
+        int goalCell = goal[0] * cols + goal[1];
+        byte[] line = new byte[cols * 5 + 1]; // widest token is "254"
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16)) {
+            for (int r = 0; r < rows; r++) {
+                int n = 0;
+                for (int c = 0; c < cols; c++) {
+                    int cell = r * cols + c;
+                    if (cell == startCell) {
+                        line[n++] = 'S';
+                    } else if (cell == goalCell) {
+                        line[n++] = 'G';
+                    } else if (cells[cell] == WALL) {
+                        line[n++] = '#';
+                    } else {
+                        int w = cells[cell] & 0xFF;
+                        line[n++] = '"';
+                        if (w >= 100)
+                            line[n++] = (byte) ('0' + w / 100);
+                        if (w >= 10)
+                            line[n++] = (byte) ('0' + w / 10 % 10);
+                        line[n++] = (byte) ('0' + w % 10);
+                        line[n++] = '"';
+                    }
+                }
+                line[n++] = '\n';
+                out.write(line, 0, n);
+            }
+        }
+    }
+}
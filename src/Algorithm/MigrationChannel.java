@@ -0,0 +1,46 @@
+package Algorithm;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free one-way channel carrying migrants from one island to the next.
+// A migrant is a single-individual GA.Population, never modified after it is sent.
+class MigrationChannel {
+
+    private final ConcurrentLinkedQueue<GA.Population> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final int capacity;
+
+    MigrationChannel(int capacity) {
+        this.capacity = capacity;
+    }
+
+    // Oldest migrants are dropped when the receiving island falls behind
+    void send(GA.Population m) {
+        queue.offer(m);
+        sent.incrementAndGet();
+        if (pending.incrementAndGet() > capacity && queue.poll() != null)
+            pending.decrementAndGet();
+    }
+
+    // Returns null when no migrant is waiting
+    GA.Population receive() {
+        GA.Population m = queue.poll();
+        if (m != null) {
+            pending.decrementAndGet();
+            received.incrementAndGet();
+        }
+        return m;
+    }
+
+    long getSent() {
+        return sent.get();
+    }
+
+    long getReceived() {
+        return received.get();
+    }
+}
@@ -0,0 +1,12 @@
+package Algorithm;
+
+// Common entry point for the single-query engines. Each engine is constructed with
+// its grid, start and goal, and run() narrows the result to its own Result class.
+public interface PathSolver {
+
+    SolverResult run();
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
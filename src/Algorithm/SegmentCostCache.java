@@ -0,0 +1,193 @@
+package Algorithm;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded cache of segment costs keyed by the packed (from, to) cell pair, shared by
+// parallel fitness workers.
+//
+// Entries live in parallel primitive arrays, so lookups and inserts allocate nothing.
+// The table is set-associative: a key hashes to one set of WAYS slots and is only ever
+// stored there, so a lookup probes at most WAYS slots and nothing needs deleting.
+// A full set evicts one of its own slots.
+//
+// Reads take no lock. Each set has a version that writers make odd while they change
+// the set (a seqlock); a read that sees the version odd or changed reports a miss, and the
+// caller just recomputes the segment. Writers lock one of STRIPES locks chosen by set.
+// The LRU read flag is written without a lock: a lost flag only changes which slot is evicted.
+public class SegmentCostCache {
+
+    public enum EvictionPolicy {
+        LRU, // drop a segment not read since the clock hand last passed it (clock approximation)
+        FIFO // drop the oldest inserted segment
+    }
+
+    public static final int MISS = -1;
+
+    static final int WAYS = 8;
+    private static final long EMPTY = -1L; // key(-1, -1); cell indices are never negative
+    private static final int STRIPES = 64;
+    private static final VarHandle VERSION = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int sets;
+    private final EvictionPolicy policy;
+    private final long[] keys;
+    private final int[] values;
+    private final boolean[] referenced; // LRU only: read since the clock hand last passed
+    private final byte[] hand; // [set] = next slot to evict, as an offset into the set
+    private final int[] versions; // [set] = odd while a writer is changing the set
+    private final Object[] locks = new Object[STRIPES];
+
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+
+    public SegmentCostCache(int capacity, EvictionPolicy policy) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        this.sets = (capacity + WAYS - 1) / WAYS;
+        this.policy = policy;
+        this.keys = new long[sets * WAYS];
+        this.values = new int[sets * WAYS];
+        this.referenced = new boolean[sets * WAYS];
+        this.hand = new byte[sets];
+        this.versions = new int[sets];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new Object();
+    }
+
+    // Cell indices are r * cols + c, so both fit in one long
+    public static long key(int fromCell, int toCell) {
+        return ((long) fromCell << 32) | (toCell & 0xFFFFFFFFL);
+    }
+
+    // First slot of the key's set: multiplicative hash, then mapped onto [0, sets) without a division
+    private int setStart(long key) {
+        long hash = (key * 0x9E3779B97F4A7C15L) >>> 32;
+        return (int) ((hash * sets) >>> 32) * WAYS;
+    }
+
+    // Returns MISS when the segment has not been evaluated yet, or its set is being written
+    public int get(long key) {
+        int base = setStart(key);
+        int set = base / WAYS;
+        int version = (int) VERSION.getAcquire(versions, set);
+        if ((version & 1) == 0) {
+            for (int i = base; i < base + WAYS; i++) {
+                if (keys[i] == key) {
+                    int cost = values[i];
+                    VarHandle.acquireFence(); // the slot reads complete before the version is checked again
+                    if ((int) VERSION.getOpaque(versions, set) != version)
+                        break;
+                    hits.increment();
+                    if (policy == EvictionPolicy.LRU && !referenced[i])
+                        referenced[i] = true;
+                    return cost;
+                }
+            }
+        }
+        misses.increment();
+        return MISS;
+    }
+
+    public void put(long key, int cost) {
+        int base = setStart(key);
+        int set = base / WAYS;
+        synchronized (locks[set % STRIPES]) {
+            beginWrite(set);
+            store(base, key, cost);
+            endWrite(set);
+        }
+    }
+
+    private void store(int base, long key, int cost) {
+        for (int i = base; i < base + WAYS; i++) {
+            if (keys[i] == key || keys[i] == EMPTY) {
+                keys[i] = key;
+                values[i] = cost;
+                return;
+            }
+        }
+        int slot = victim(base);
+        evictions.increment();
+        keys[slot] = key;
+        values[slot] = cost;
+        referenced[slot] = false;
+    }
+
+    // Caller holds the set's stripe lock
+    private void beginWrite(int set) {
+        VERSION.setOpaque(versions, set, versions[set] + 1);
+        VarHandle.releaseFence(); // odd version is visible before any slot changes
+    }
+
+    private void endWrite(int set) {
+        VERSION.setRelease(versions, set, versions[set] + 1);
+    }
+
+    // FIFO: slots are filled in order, so the hand always points at the oldest.
+    // LRU: the hand skips (and clears) slots read since it last passed them.
+    private int victim(int base) {
+        int set = base / WAYS;
+        int h = hand[set];
+        if (policy == EvictionPolicy.LRU) {
+            while (referenced[base + h]) {
+                referenced[base + h] = false;
+                h = (h + 1) % WAYS;
+            }
+        }
+        hand[set] = (byte) ((h + 1) % WAYS);
+        return base + h;
+    }
+
+    public void clear() {
+        for (int set = 0; set < sets; set++) {
+            synchronized (locks[set % STRIPES]) {
+                beginWrite(set);
+                Arrays.fill(keys, set * WAYS, (set + 1) * WAYS, EMPTY);
+                Arrays.fill(referenced, set * WAYS, (set + 1) * WAYS, false);
+                hand[set] = 0;
+                endWrite(set);
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    // Approximate while writers are active
+    public int size() {
+        int n = 0;
+        for (long k : keys)
+            if (k != EMPTY)
+                n++;
+        return n;
+    }
+
+    // Slots in the table: the requested capacity rounded up to whole sets
+    public int getCapacity() {
+        return sets * WAYS;
+    }
+
+    public EvictionPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum(), total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+}
@@ -0,0 +1,154 @@
+package Algorithm;
+
+import java.util.Arrays;
+
+// Reusable search kernel for GA segments. One instance per worker thread.
+// Works on a flat grid (cell = r * cols + c) with generation-stamped state arrays,
+// so a search allocates nothing after construction.
+//
+// Cell weights are small positive integers, so the frontier is kept in a
+// BucketQueue. Costs are exact weighted shortest paths.
+public class SegmentSearch {
+
+    private static final int NONE = BucketQueue.NONE;
+
+    private final int[] weights; // move cost into each cell, -1 for walls
+    private final int rows, cols;
+
+    private final BucketQueue queue;
+
+    // seen[cell] == generation: cost/parent are valid for this search
+    // settled[cell] == generation: cost is final
+    private final int[] seen, settled;
+    private final int[] cost, parent;
+    private int generation;
+
+    public SegmentSearch(int[] weights, int rows, int cols) {
+        this.weights = weights;
+        this.rows = rows;
+        this.cols = cols;
+
+        int maxWeight = 1;
+        for (int w : weights)
+            maxWeight = Math.max(maxWeight, w);
+
+        int cells = rows * cols;
+        this.queue = new BucketQueue(cells, maxWeight);
+        this.seen = new int[cells];
+        this.settled = new int[cells];
+        this.cost = new int[cells];
+        this.parent = new int[cells];
+    }
+
+    // Move cost into each cell as used by GA: walls stay -1, S/G markers (0) cost 1
+    public static int[] flatten(int[][] grid, int rows, int cols) {
+        int[] flat = new int[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int w = grid[r][c];
+                flat[r * cols + c] = w == -1 ? -1 : (w > 0 ? w : 1);
+            }
+        }
+        return flat;
+    }
+
+    // Segment cost from -> to, or ShortestPathTree.UNREACHABLE
+    public int cost(int from, int to) {
+        if (from == to)
+            return 0;
+        return search(from, to);
+    }
+
+    // Full search from source. Only the returned tree's own arrays are allocated.
+    public ShortestPathTree tree(int source) {
+        search(source, NONE);
+
+        int gen = generation;
+        int[] dist = new int[rows * cols];
+        int[] treeParent = new int[rows * cols];
+        Arrays.fill(dist, -1);
+        Arrays.fill(treeParent, -1);
+        for (int cell = 0; cell < dist.length; cell++) {
+            if (settled[cell] == gen) {
+                dist[cell] = cost[cell];
+                treeParent[cell] = parent[cell];
+            }
+        }
+        return new ShortestPathTree(source, cols, dist, treeParent);
+    }
+
+    // Dial's algorithm. Stops when target is settled; target == NONE settles every reachable cell.
+    private int search(int source, int target) {
+        int gen = nextGeneration();
+        queue.clear();
+
+        seen[source] = gen;
+        cost[source] = 0;
+        parent[source] = NONE;
+        queue.push(source, 0);
+        int queued = 1;
+        int current = 0;
+
+        while (queued > 0) {
+            int curr = queue.head(current);
+            if (curr == NONE) {
+                current++;
+                continue;
+            }
+            queue.unlink(curr, current);
+            queued--;
+            settled[curr] = gen;
+            if (curr == target)
+                return cost[curr];
+
+            int r = curr / cols;
+            int c = curr - r * cols;
+            int base = cost[curr];
+
+            // Neighbour order: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nb;
+                if (d == 0) {
+                    if (r == 0) continue;
+                    nb = curr - cols;
+                } else if (d == 1) {
+                    if (r == rows - 1) continue;
+                    nb = curr + cols;
+                } else if (d == 2) {
+                    if (c == 0) continue;
+                    nb = curr - 1;
+                } else {
+                    if (c == cols - 1) continue;
+                    nb = curr + 1;
+                }
+
+                if (weights[nb] == -1 || settled[nb] == gen)
+                    continue;
+
+                int newCost = base + weights[nb];
+                if (seen[nb] != gen) {
+                    seen[nb] = gen;
+                    queued++;
+                } else if (newCost < cost[nb]) {
+                    queue.unlink(nb, cost[nb]); // decrease-key: move to its new bucket
+                } else {
+                    continue;
+                }
+                cost[nb] = newCost;
+                parent[nb] = curr;
+                queue.push(nb, newCost);
+            }
+        }
+        return ShortestPathTree.UNREACHABLE;
+    }
+
+    private int nextGeneration() {
+        if (++generation == 0) {
+            // Stamp wrapped around: clear once and start over
+            Arrays.fill(seen, 0);
+            Arrays.fill(settled, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+}
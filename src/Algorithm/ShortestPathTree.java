@@ -0,0 +1,52 @@
+package Algorithm;
+
+// Distance/parent tree of one search from a single source cell.
+// Any (source, target) query is answered from the arrays without searching again.
+public class ShortestPathTree {
+
+    public static final int UNREACHABLE = 100_000;
+
+    private final int source;
+    private final int cols;
+    private final int[] dist;
+    private final int[] parent;
+
+    // Built by SegmentSearch.tree
+    ShortestPathTree(int source, int cols, int[] dist, int[] parent) {
+        this.source = source;
+        this.cols = cols;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public boolean reaches(int cell) {
+        return dist[cell] != -1;
+    }
+
+    public int costTo(int cell) {
+        return dist[cell] == -1 ? UNREACHABLE : dist[cell];
+    }
+
+    // Cells from source to target inclusive, empty when unreachable or target == source
+    public GridPath pathTo(int cell) {
+        GridPath.Builder path = new GridPath.Builder(cols);
+        appendPathTo(cell, path);
+        return path.build();
+    }
+
+    // Same cells as pathTo, appended to out; false when nothing was appended
+    boolean appendPathTo(int cell, GridPath.Builder out) {
+        if (cell == source || dist[cell] == -1)
+            return false;
+        out.addChain(parent, cell);
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return 2L * dist.length * Integer.BYTES;
+    }
+}
@@ -0,0 +1,95 @@
+package Algorithm;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Memory-bounded LRU store of shortest-path trees, keyed by source cell.
+// Safe to share between fitness workers: trees are built outside the lock.
+public class ShortestPathTreeStore {
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<Integer, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits, builds, evictions;
+
+    public ShortestPathTreeStore(long maxBytes) {
+        if (maxBytes <= 0)
+            throw new IllegalArgumentException("Tree store budget must be positive: " + maxBytes);
+        this.maxBytes = maxBytes;
+    }
+
+    // Returns the tree rooted at source if it is already stored, otherwise null
+    public synchronized ShortestPathTree peek(int source) {
+        return trees.get(source);
+    }
+
+    // Returns the tree rooted at source, building it with the caller's kernel on first use
+    public ShortestPathTree get(int source, SegmentSearch kernel) {
+        synchronized (this) {
+            ShortestPathTree tree = trees.get(source);
+            if (tree != null) {
+                hits++;
+                return tree;
+            }
+        }
+
+        ShortestPathTree built = kernel.tree(source);
+
+        synchronized (this) {
+            // Another worker may have built the same tree meanwhile
+            ShortestPathTree existing = trees.get(source);
+            if (existing != null)
+                return existing;
+
+            builds++;
+            trees.put(source, built);
+            usedBytes += built.sizeInBytes();
+            evictToBudget(source);
+            return built;
+        }
+    }
+
+    // Least recently used trees go first; the tree just requested is always kept
+    private void evictToBudget(int keep) {
+        Iterator<Map.Entry<Integer, ShortestPathTree>> it = trees.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Integer, ShortestPathTree> eldest = it.next();
+            if (eldest.getKey() == keep)
+                continue;
+            usedBytes -= eldest.getValue().sizeInBytes();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        trees.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return trees.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getBuilds() {
+        return builds;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,76 @@
+package Algorithm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+// Outcome of one PathSolver run plus the search counters every engine fills in,
+// so different engines can be compared on the same metrics.
+public class SolverResult {
+    public boolean success;
+    public int cost;
+    public GridPath path;
+    public int visitedCount;
+    public double timeTaken;
+
+    // Priority queue traffic; engines without a queue leave these at 0
+    public long heapPushes;
+    public long heapPops;
+    public long staleSkips; // popped entries already superseded by a cheaper one
+    public int peakFrontier; // largest queue size seen during the search
+
+    // Bytes allocated by the calling thread during run(), -1 if the JVM cannot tell
+    public long bytesAllocated = -1;
+
+    // timeTaken split into phases, in seconds
+    public double setupTime;
+    public double searchTime;
+    public double reconstructTime;
+
+    // Phase boundaries are System.nanoTime() values taken by the engine
+    void recordPhases(long startTime, long searchStart, long reconstructStart, long endTime) {
+        setupTime = (searchStart - startTime) / 1e9;
+        searchTime = (reconstructStart - searchStart) / 1e9;
+        reconstructTime = (endTime - reconstructStart) / 1e9;
+        timeTaken = (endTime - startTime) / 1e9;
+    }
+
+    void recordHeap(IndexedMinHeap heap) {
+        heapPushes += heap.getPushes();
+        heapPops += heap.getPops();
+        peakFrontier = Math.max(peakFrontier, heap.getPeakSize());
+    }
+
+    void recordAllocation(long mark) {
+        long now = allocatedBytes();
+        bytesAllocated = mark < 0 || now < 0 ? -1 : now - mark;
+    }
+
+    // Running total for the current thread; pass the value to recordAllocation() afterwards
+    static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled())
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    // One-line metrics summary for logs and benchmark tables
+    public String summary() {
+        return String.format(
+                "cost=%d visited=%d push=%d pop=%d stale=%d peak=%d alloc=%s setup=%.4fs search=%.4fs path=%.4fs",
+                cost, visitedCount, heapPushes, heapPops, staleSkips, peakFrontier, formatBytes(bytesAllocated),
+                setupTime, searchTime, reconstructTime);
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 0)
+            return "n/a";
+        if (bytes < 1024)
+            return bytes + "B";
+        if (bytes < 1024 * 1024)
+            return String.format("%.1fKB", bytes / 1024.0);
+        return String.format("%.1fMB", bytes / (1024.0 * 1024.0));
+    }
+}
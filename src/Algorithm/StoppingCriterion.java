@@ -0,0 +1,48 @@
+package Algorithm;
+
+import java.util.List;
+
+// Early termination rule for GA runs, checked once per generation
+public interface StoppingCriterion {
+
+    // Returns why the run should stop, or null to keep going
+    String check(List<GA.GenerationStat> history);
+
+    // Best cost has not improved during the last window generations
+    static StoppingCriterion stagnation(int window) {
+        if (window < 1)
+            throw new IllegalArgumentException("Stagnation window must be positive: " + window);
+        return history -> {
+            int last = history.size() - 1;
+            if (last < window)
+                return null;
+            int now = history.get(last).bestCost;
+            return now >= history.get(last - window).bestCost
+                    ? "Stagnation (no improvement in " + window + " generations)"
+                    : null;
+        };
+    }
+
+    // Population costs have collapsed around one value
+    static StoppingCriterion stdDevBelow(double threshold) {
+        return history -> {
+            GA.GenerationStat stat = history.get(history.size() - 1);
+            return stat.stdDevCost <= threshold
+                    ? String.format("Converged (std dev %.2f <= %.2f)", stat.stdDevCost, threshold)
+                    : null;
+        };
+    }
+
+    // Best cost is within gapPercent of a known optimum (e.g. the A* cost)
+    static StoppingCriterion targetGap(int optimalCost, double gapPercent) {
+        return history -> {
+            int best = history.get(history.size() - 1).bestCost;
+            if (optimalCost == 0) // no relative gap to a zero optimum: only reaching it counts
+                return best <= 0 ? "Target reached (optimum 0)" : null;
+            double gap = (double) (best - optimalCost) / optimalCost * 100;
+            return gap <= gapPercent
+                    ? String.format("Target reached (gap %.2f%% <= %.2f%%)", gap, gapPercent)
+                    : null;
+        };
+    }
+}
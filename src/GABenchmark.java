@@ -2,21 +2,33 @@ import Algorithm.*;
 
 import java.io.*;
 import java.util.*;
-import java.util.regex.*;
 
 public class GABenchmark {
 
-    static class MapInfo {
-        int[][] grid;
-        int[] start;
-        int[] goal;
-        boolean success;
-        String filename;
-    }
+    static final int STAGNATION_WINDOW = 500;
+    static final int BATCH_SOURCES = 20;
+    static final int BATCH_GOALS_PER_SOURCE = 10;
+    static final int REPLAN_ROUNDS = 10;
+    static final int REPLAN_STEPS = 5; // cells walked between map changes
+    static final int REPLAN_EDITS = 20; // random weight changes per round, besides the cell ahead
+    static final int REPLAN_PENALTY = 50; // added to the cell ahead; a wall would cut most corridor mazes
+    static final long HIERARCHY_MAX_CELLS = 250_000; // contraction takes minutes beyond this
 
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
 
+        // Optional: number of GA islands (1 = single population), RNG seed
+        int islands = 1;
+        Long seed = null;
+        try {
+            if (args.length > 0)
+                islands = Math.max(1, Integer.parseInt(args[0]));
+            if (args.length > 1)
+                seed = Long.parseLong(args[1]);
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid argument: " + e.getMessage());
+        }
+
         File selectedFile = selectMapFile("MAZE", scanner);
 
         if (selectedFile == null) {
@@ -26,17 +38,25 @@ public class GABenchmark {
         }
 
         System.out.println("\nLoading map: " + selectedFile.getName() + " ...");
-        MapInfo mapInfo = loadComplexMap(selectedFile);
+        MapLoader.MapData mapInfo;
+        try {
+            mapInfo = MapLoader.load(selectedFile);
+        } catch (IOException e) {
+            System.err.println("Failed to read map file: " + e.getMessage());
+            scanner.close();
+            return;
+        }
 
-        if (!mapInfo.success) {
+        if (mapInfo.rows == 0) {
             System.err.println("Failed to parse map file.");
             scanner.close();
             return;
         }
+        System.out.println("Loaded:    " + mapInfo.summary());
 
         int[][] grid = mapInfo.grid;
-        int rows = grid.length;
-        int cols = grid[0].length;
+        int rows = mapInfo.rows;
+        int cols = mapInfo.cols;
         int[] start = mapInfo.start;
         int[] goal = mapInfo.goal;
 
@@ -46,11 +66,33 @@ public class GABenchmark {
             return;
         }
 
+        // Preprocessing is reused from earlier sessions on the same map contents
+        MapArtifactCache artifacts = new MapArtifactCache(MapArtifactCache.DEFAULT_ROOT, grid, rows, cols);
+        long prepStart = System.nanoTime();
+        ComponentLabels components = artifacts.components();
+
+        // Different components: no engine can find a path, so none is run
+        if (!components.connected(start, goal)) {
+            System.out.printf("Components: %d, S in %d, G in %d\n", components.getComponentCount(),
+                    components.label(start[0], start[1]), components.label(goal[0], goal[1]));
+            System.out.println("❌ Failed! S and G are in different components; this map has no valid path.");
+            scanner.close();
+            return;
+        }
+
+        DistanceField goalDistances = artifacts.goalDistances(goal);
+        LandmarkTable landmarks = artifacts.landmarks();
+        System.out.printf("Artifacts: %d components, goal field, %d landmarks in %.4fs (%s)\n",
+                components.getComponentCount(), landmarks.getLandmarkCount(), (System.nanoTime() - prepStart) / 1e9,
+                artifacts.summary());
+
         System.out.println("=== BENCHMARK CONFIGURATION ===");
         System.out.printf("Map:       %s (%dx%d)\n", selectedFile.getName(), rows, cols);
         System.out.printf("Start:     [%d, %d]\n", start[0], start[1]);
         System.out.printf("Goal:      [%d, %d]\n", goal[0], goal[1]);
         System.out.println("GA Config: Pop=200, Gen=2000, Elite=1, Mut=0.1");
+        System.out.printf("Stop:      Optimal reached or %d stagnant generations\n", STAGNATION_WINDOW);
+        System.out.printf("Workers:   %d\n", Runtime.getRuntime().availableProcessors());
         System.out.println("-------------------------------");
 
         System.out.print("Running A* (Finding Optimal)... ");
@@ -68,15 +110,75 @@ public class GABenchmark {
 
         saveOptimalToCSV(aStarResult.cost, "Data/optimal.csv");
 
-        System.out.println("-------------------------------");
-        System.out.print("Running GA... ");
-        GA ga = new GA(grid, rows, cols, start, goal);
+        // Built once per map; their queries run in the table below
+        HPA_star hpa = new HPA_star(grid, rows, cols);
+        System.out.printf("\nPreprocess: HPA_star %.4fs (%d entrance nodes, %d edges)\n", hpa.getPreprocessTime(),
+                hpa.getNodeCount(), hpa.getEdgeCount());
+        ContractionHierarchy hierarchy = null;
+        if ((long) rows * cols <= HIERARCHY_MAX_CELLS) {
+            hierarchy = new ContractionHierarchy(grid, rows, cols);
+            System.out.printf("Preprocess: ContractionHierarchy %.4fs (%d nodes, %d shortcuts)\n",
+                    hierarchy.getPreprocessTime(), hierarchy.getNodeCount(), hierarchy.getShortcutCount());
+        } else {
+            System.out.printf("Preprocess: ContractionHierarchy skipped (more than %d cells)\n", HIERARCHY_MAX_CELLS);
+        }
 
-        ga.setParameters(200, 2000, 1, 0.1);
-        ga.setCallback(null);
+        List<PathSolver> engines = new ArrayList<>(Arrays.asList(
+                new Dijkstra(grid, rows, cols, start, goal),
+                new IndexedDijkstra(grid, rows, cols, start, goal),
+                new BucketDijkstra(grid, rows, cols, start, goal),
+                new IndexedA_star(grid, rows, cols, start, goal),
+                new ALT_star(grid, rows, cols, start, goal, landmarks),
+                new BidirectionalSearch(grid, rows, cols, start, goal, BidirectionalSearch.Mode.A_STAR)));
+        engines.add(hpa.solver(start, goal)); // near-optimal: compare its cost with A_star's
+        if (hierarchy != null)
+            engines.add(hierarchy.solver(start, goal));
+        System.out.println("\n=== ENGINE COMPARISON ===");
+        printSolverHeader();
+        printSolverRow("A_star", aStarResult);
+        for (PathSolver engine : engines)
+            printSolverRow(engine.getName(), engine.run());
+
+        runBatch(grid, rows, cols, components, start, hierarchy);
+        runReplanning(grid, rows, cols, start, goal, seed != null ? seed : 1);
 
-        GA.Result gaResult = ga.run();
-        System.out.println("Done.");
+        System.out.println("-------------------------------");
+        GA.Result gaResult;
+        if (islands > 1) {
+            System.out.print("Running Island GA (" + islands + " islands)... ");
+            IslandGA islandGA = new IslandGA(grid, rows, cols, start, goal);
+            islandGA.setParameters(200, 2000, 1, 0.1);
+            islandGA.setIslands(islands, 50, 2);
+            if (seed != null)
+                islandGA.setSeed(seed);
+            islandGA.setGoalDistances(goalDistances);
+            islandGA.setComponents(components);
+            islandGA.addStoppingCriterion(StoppingCriterion.targetGap(aStarResult.cost, 0.0));
+            islandGA.addStoppingCriterion(StoppingCriterion.stagnation(STAGNATION_WINDOW));
+
+            IslandGA.Result islandResult = islandGA.run();
+            System.out.println("Done.");
+            printIslands(islandResult);
+            gaResult = islandResult;
+        } else {
+            System.out.print("Running GA... ");
+            GA ga = new GA(grid, rows, cols, start, goal);
+
+            ga.setParameters(200, 2000, 1, 0.1);
+            ga.setParallelism(Runtime.getRuntime().availableProcessors());
+            ga.setCallback(null);
+            if (seed != null)
+                ga.setSeed(seed);
+            ga.setGoalDistances(goalDistances);
+            ga.setComponents(components);
+            ga.addStoppingCriterion(StoppingCriterion.targetGap(aStarResult.cost, 0.0));
+            ga.addStoppingCriterion(StoppingCriterion.stagnation(STAGNATION_WINDOW));
+
+            gaResult = ga.run();
+            System.out.println("Done.");
+        }
+        printSolverHeader();
+        printSolverRow(islands > 1 ? "IslandGA" : "GA", gaResult);
 
         printAnalysis(aStarResult, gaResult);
 
@@ -89,9 +191,16 @@ public class GABenchmark {
             System.err.println("❌ Folder '" + folderPath + "' not found at: " + System.getProperty("user.dir"));
             return null;
         }
-        File[] files = folder.listFiles((dir, name) -> name.toLowerCase().endsWith(".txt"));
+        // A converted map is listed once, as its .mzb
+        File[] files = folder.listFiles((dir, name) -> {
+            String lower = name.toLowerCase();
+            if (lower.endsWith(BinaryMaze.EXTENSION))
+                return true;
+            return lower.endsWith(".txt")
+                    && !new File(dir, name.substring(0, name.length() - 4) + BinaryMaze.EXTENSION).exists();
+        });
         if (files == null || files.length == 0) {
-            System.err.println("❌ No .txt files found in '" + folderPath + "'");
+            System.err.println("❌ No .txt or " + BinaryMaze.EXTENSION + " files found in '" + folderPath + "'");
             return null;
         }
 
@@ -123,7 +232,13 @@ public class GABenchmark {
         System.out.printf("%-15s | %-15.4fs | %-15.4fs\n", "Time", optimal.timeTaken, heuristic.timeTaken);
         System.out.println("---------------------------------------------------");
 
+        long lookups = heuristic.cacheHits + heuristic.cacheMisses;
+        System.out.printf("Segment Cache: %d hits / %d misses (%.1f%% hit rate)\n", heuristic.cacheHits,
+                heuristic.cacheMisses, lookups == 0 ? 0.0 : 100.0 * heuristic.cacheHits / lookups);
+
         System.out.printf("Accuracy Gap:  %.2f%% %s\n", errorGap, (errorGap == 0 ? "(PERFECT!)" : "(Difference)"));
+        System.out.printf("Stopped:       Gen %d - %s\n", heuristic.stopGeneration, heuristic.stopReason);
+        System.out.printf("Seed:          %d\n", heuristic.seed);
 
         if (heuristic.cost == optimal.cost)
             System.out.println("✅ GA found the Optimal Path!");
@@ -135,83 +250,132 @@ public class GABenchmark {
         System.out.println("\n>> Data saved to 'Data/optimal.csv' and 'Data/ga_stats.csv'");
     }
 
-    private static void saveOptimalToCSV(int cost, String filename) {
-        File dataDir = new File("Data");
-        if (!dataDir.exists())
-            dataDir.mkdir();
+    private static void printSolverHeader() {
+        System.out.printf("%-20s | %-8s | %-9s | %-9s | %-9s | %-8s | %-8s | %-9s | %-9s | %-9s | %-9s\n", "Engine",
+                "Cost", "Visited", "Pushes", "Pops", "Stale", "Peak", "Alloc", "Setup", "Search", "Path");
+    }
 
-        try (PrintWriter writer = new PrintWriter(new File(filename))) {
-            writer.println("OptimalCost");
-            writer.println(cost);
-        } catch (FileNotFoundException e) {
-            System.err.println("Could not write Optimal CSV: " + e.getMessage());
-        }
+    private static void printSolverRow(String name, SolverResult r) {
+        System.out.printf("%-20s | %-8s | %-9d | %-9d | %-9d | %-8d | %-8d | %-9s | %8.4fs | %8.4fs | %8.4fs\n",
+                name, r.success ? String.valueOf(r.cost) : "-", r.visitedCount, r.heapPushes, r.heapPops,
+                r.staleSkips, r.peakFrontier, SolverResult.formatBytes(r.bytesAllocated), r.setupTime,
+                r.searchTime, r.reconstructTime);
     }
 
-    private static MapInfo loadComplexMap(File file) {
-        MapInfo info = new MapInfo();
-        List<List<Integer>> tempGrid = new ArrayList<>();
-
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            int r = 0;
-            Pattern pattern = Pattern.compile("\"(\\d+)\"|([#SG])");
-
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty())
-                    continue;
-
-                List<Integer> rowList = new ArrayList<>();
-                Matcher matcher = pattern.matcher(line);
-
-                int c = 0;
-                while (matcher.find()) {
-                    if (matcher.group(1) != null) {
-                        rowList.add(Integer.parseInt(matcher.group(1)));
-                    } else if (matcher.group(2) != null) {
-                        String symbol = matcher.group(2);
-                        switch (symbol) {
-                            case "#":
-                                rowList.add(-1);
-                                break;
-                            case "S":
-                                rowList.add(1);
-                                info.start = new int[] { r, c };
-                                break;
-                            case "G":
-                                rowList.add(1);
-                                info.goal = new int[] { r, c };
-                                break;
-                        }
-                    }
-                    c++;
-                }
-                tempGrid.add(rowList);
-                r++;
+    // An agent walks the D* Lite path while the map changes: each round it moves a few cells,
+    // the next cell ahead gets much more expensive and some random cells get new weights. D* Lite repairs
+    // its previous search; IndexedDijkstra solves the edited map from scratch for comparison.
+    private static void runReplanning(int[][] grid, int rows, int cols, int[] start, int[] goal, long seed) {
+        int[][] edited = new int[rows][];
+        for (int r = 0; r < rows; r++)
+            edited[r] = grid[r].clone();
+        SplittableRandom random = new SplittableRandom(seed);
+        DStarLite planner = new DStarLite(grid, rows, cols, start, goal);
+        int[] agent = start.clone();
+
+        System.out.println("\n=== DYNAMIC REPLANNING ===");
+        System.out.printf("%-6s | %-8s | %-10s | %-10s | %-10s | %-10s | %s\n", "Round", "Cost", "D* Expand",
+                "D* Time", "Dijk Visit", "Dijk Time", "Match");
+        A_star.Result plan = planner.plan();
+        printReplanRow(0, plan, new IndexedDijkstra(edited, rows, cols, agent, goal).run());
+        for (int round = 1; round <= REPLAN_ROUNDS && plan.success; round++) {
+            GridPath path = plan.path;
+            int step = Math.min(REPLAN_STEPS, path.size() - 1);
+            agent = new int[] { path.row(step), path.col(step) };
+            planner.moveStart(agent);
+            if (step + 1 >= path.size() - 1)
+                break; // the goal is next
+
+            int aheadR = path.row(step + 1), aheadC = path.col(step + 1);
+            edit(planner, edited, aheadR, aheadC, edited[aheadR][aheadC] + REPLAN_PENALTY);
+            for (int i = 0; i < REPLAN_EDITS; i++) {
+                int r = 1 + random.nextInt(rows - 2), c = 1 + random.nextInt(cols - 2);
+                boolean marker = (r == agent[0] && c == agent[1]) || (r == goal[0] && c == goal[1]);
+                if (edited[r][c] != -1 && !marker)
+                    edit(planner, edited, r, c, 1 + random.nextInt(9));
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-            info.success = false;
-            return info;
+
+            plan = planner.plan();
+            printReplanRow(round, plan, new IndexedDijkstra(edited, rows, cols, agent, goal).run());
         }
+    }
+
+    private static void edit(DStarLite planner, int[][] edited, int r, int c, int w) {
+        planner.setCellCost(r, c, w);
+        edited[r][c] = w;
+    }
+
+    private static void printReplanRow(int round, SolverResult plan, SolverResult fresh) {
+        boolean match = plan.success == fresh.success && (!plan.success || plan.cost == fresh.cost);
+        System.out.printf("%-6d | %-8s | %-10d | %9.4fs | %-10d | %9.4fs | %s\n", round,
+                plan.success ? String.valueOf(plan.cost) : "none", plan.visitedCount, plan.timeTaken,
+                fresh.visitedCount, fresh.timeTaken, match ? "yes" : "NO");
+    }
 
-        if (tempGrid.isEmpty()) {
-            info.success = false;
-            return info;
+    // Random queries inside S's component, grouped by source, once on one thread and once on all;
+    // the contraction hierarchy (when built) answers the same queries as a cross-check
+    private static void runBatch(int[][] grid, int rows, int cols, ComponentLabels components, int[] start,
+            ContractionHierarchy hierarchy) {
+        SplittableRandom random = new SplittableRandom(1);
+        int label = components.label(start[0], start[1]);
+        List<int[]> starts = new ArrayList<>(), goals = new ArrayList<>();
+        for (int s = 0; s < BATCH_SOURCES; s++) {
+            int source = components.randomCell(label, random);
+            for (int g = 0; g < BATCH_GOALS_PER_SOURCE; g++) {
+                int target = components.randomCell(label, random);
+                starts.add(new int[] { source / cols, source % cols });
+                goals.add(new int[] { target / cols, target % cols });
+            }
         }
 
-        int rows = tempGrid.size();
-        int cols = tempGrid.get(0).size();
-        info.grid = new int[rows][cols];
+        System.out.println("\n=== BATCH QUERIES ===");
+        System.out.printf("%-20s | %-8s | %-8s | %-8s | %-10s | %-12s\n", "Engine", "Queries", "Groups", "Threads",
+                "Time", "Queries/s");
+        BatchPathSolver batch = new BatchPathSolver(grid, rows, cols);
+        BatchPathSolver.BatchResult result = null;
+        for (int threads : new int[] { 1, Runtime.getRuntime().availableProcessors() }) {
+            batch.setThreads(threads);
+            result = batch.solve(starts, goals);
+            System.out.printf("%-20s | %-8d | %-8d | %-8d | %9.4fs | %-12.1f\n", "BatchPathSolver", result.queries,
+                    result.sourceGroups, result.threads, result.timeTaken, result.queriesPerSecond);
+        }
 
-        for (int i = 0; i < rows; i++) {
-            List<Integer> row = tempGrid.get(i);
-            for (int j = 0; j < Math.min(cols, row.size()); j++) {
-                info.grid[i][j] = row.get(j);
+        if (hierarchy != null) {
+            int mismatches = 0;
+            long startTime = System.nanoTime();
+            for (int i = 0; i < starts.size(); i++) {
+                A_star.Result r = hierarchy.run(starts.get(i), goals.get(i));
+                Dijkstra.Result expected = result.results.get(i);
+                if (r.success != expected.success || r.cost != expected.cost)
+                    mismatches++;
             }
+            double elapsed = (System.nanoTime() - startTime) / 1e9;
+            System.out.printf("%-20s | %-8d | %-8s | %-8d | %9.4fs | %-12.1f\n", "ContractionHierarchy",
+                    starts.size(), "-", 1, elapsed, elapsed > 0 ? starts.size() / elapsed : 0.0);
+            System.out.printf("Hierarchy vs batch Dijkstra: %d / %d costs differ\n", mismatches, starts.size());
+        }
+    }
+
+    private static void printIslands(IslandGA.Result result) {
+        System.out.println("\n=== ISLANDS ===");
+        System.out.printf("%-8s | %-10s | %-10s | %-10s | %-10s\n", "Island", "Best Cost", "Time", "Sent", "Received");
+        for (IslandGA.IslandStat stat : result.islands) {
+            System.out.printf("%-8s | %-10d | %-9.4fs | %-10d | %-10d\n",
+                    stat.island + (stat.island == result.bestIsland ? " *" : ""), stat.bestCost,
+                    stat.timeTaken, stat.emigrants, stat.immigrants);
+        }
+    }
+
+    private static void saveOptimalToCSV(int cost, String filename) {
+        File dataDir = new File("Data");
+        if (!dataDir.exists())
+            dataDir.mkdir();
+
+        try (PrintWriter writer = new PrintWriter(new File(filename))) {
+            writer.println("OptimalCost");
+            writer.println(cost);
+        } catch (FileNotFoundException e) {
+            System.err.println("Could not write Optimal CSV: " + e.getMessage());
         }
-        info.success = true;
-        return info;
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+import Algorithm.*;
+
+import java.io.*;
+
+// Writes a seeded procedural maze in the MAZE text format (or .mzb by extension).
+// Usage: java -cp bin GenerateMaze <rows> <cols> [options]
+//   --seed N                              default 1
+//   --walls D                             wall density 0..1, default 0.3
+//   --style scattered|corridors           default scattered
+//   --weights constant|uniform|skewed     default uniform
+//   --max-weight W                        default 10
+//   --out FILE                            default MAZE/gen_<rows>_<cols>_<seed>.txt
+public class GenerateMaze {
+
+    private static final String USAGE = "Usage: java -cp bin GenerateMaze <rows> <cols> [--seed N] [--walls D]"
+            + " [--style scattered|corridors] [--weights constant|uniform|skewed] [--max-weight W] [--out FILE]";
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            int rows = Integer.parseInt(args[0]);
+            int cols = Integer.parseInt(args[1]);
+            long seed = 1;
+            MazeGenerator.Weights weights = MazeGenerator.Weights.UNIFORM;
+            int maxWeight = 10;
+            File output = null;
+
+            MazeGenerator generator = new MazeGenerator(rows, cols);
+            for (int i = 2; i < args.length; i++) {
+                if (i + 1 == args.length)
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                String value = args[++i];
+                switch (args[i - 1]) {
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--walls":
+                        generator.setWallDensity(Double.parseDouble(value));
+                        break;
+                    case "--style":
+                        generator.setStyle(MazeGenerator.Style.valueOf(value.toUpperCase()));
+                        break;
+                    case "--weights":
+                        weights = MazeGenerator.Weights.valueOf(value.toUpperCase());
+                        break;
+                    case "--max-weight":
+                        maxWeight = Integer.parseInt(value);
+                        break;
+                    case "--out":
+                        output = new File(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i - 1]);
+                }
+            }
+            generator.setSeed(seed);
+            generator.setWeights(weights, maxWeight);
+            if (output == null)
+                output = new File("MAZE", "gen_" + rows + "_" + cols + "_" + seed + ".txt");
+
+            long startTime = System.nanoTime();
+            generator.write(output);
+            double elapsed = (System.nanoTime() - startTime) / 1e9;
+            System.out.printf("%s | %dx%d | %s in %.2fs\n", output.getPath(), rows, cols,
+                    SolverResult.formatBytes(output.length()), elapsed);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println(USAGE);
+        }
+    }
+}
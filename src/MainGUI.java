@@ -5,7 +5,6 @@ import java.awt.event.*;
 import java.io.*;
 import java.util.*;
 import java.util.List;
-import java.util.regex.*;
 import Algorithm.*;
 
 public class MainGUI extends JFrame {
@@ -37,19 +36,21 @@ public class MainGUI extends JFrame {
     private int[] start = new int[2];
     private int[] goal = new int[2];
     private File currentMapFile;
+    private volatile DistanceField goalDistances; // from the artifact cache, null until ready
+    private volatile ComponentLabels components;
 
     // --- Path Storage ---
-    private List<int[]> pathDijkstra = null;
-    private List<int[]> pathAStar = null;
+    private GridPath pathDijkstra = null;
+    private GridPath pathAStar = null;
 
     // GA History
     private static class GASnapshot {
-        List<int[]> path;
+        GridPath path; // immutable, shared with the GA thread
         int gen;
         int cost;
 
-        public GASnapshot(List<int[]> p, int g, int c, String s) {
-            this.path = (p != null) ? new ArrayList<>(p) : null;
+        public GASnapshot(GridPath p, int g, int c, String s) {
+            this.path = p;
             this.gen = g;
             this.cost = c;
         }
@@ -378,6 +379,9 @@ public class MainGUI extends JFrame {
                 // TODO: ถ้าแก้ GA.java แล้ว
                 // ให้ใช้บรรทัดล่างนี้แทน
                 ga.setParameters(settingPopSize, settingGenerations, settingElitism, settingMutation);
+                ga.setParallelism(Runtime.getRuntime().availableProcessors());
+                ga.setGoalDistances(goalDistances);
+                ga.setComponents(components);
 
                 ga.setCallback((path, gen, cost, status) -> {
                     // Feature 2: Stop Check
@@ -441,43 +445,78 @@ public class MainGUI extends JFrame {
     // --- Feature 5: Auto-Run Dijkstra & A* ---
     private void runAutoSolvers() {
         new Thread(() -> {
+            prepareArtifacts();
             log("Auto-running Dijkstra & A*...");
 
-            // 1. Dijkstra
-            try {
-                Dijkstra dij = new Dijkstra(grid, rows, cols, start, goal);
-                Dijkstra.Result dRes = dij.run();
+            // 1. Dijkstra (bucket queue for small weights)
+            SolverResult dRes = runSolver(guard(BucketDijkstra.select(grid, rows, cols, start, goal)));
+            if (dRes != null)
                 pathDijkstra = dRes.path;
-                SwingUtilities.invokeLater(() -> log(" > Dijkstra Done (Cost: " + dRes.cost + ")"));
-            } catch (Exception e) {
-                log("Dijkstra Error");
-            }
 
             // 2. A*
-            try {
-                A_star astar = new A_star(grid, rows, cols, start, goal);
-                A_star.Result aRes = astar.run();
+            SolverResult aRes = runSolver(guard(new A_star(grid, rows, cols, start, goal)));
+            if (aRes != null)
                 pathAStar = aRes.path;
-                SwingUtilities.invokeLater(() -> log(" > A* Done (Cost: " + aRes.cost + ")"));
-            } catch (Exception e) {
-                log("A* Error");
-            }
 
             SwingUtilities.invokeLater(() -> mazePanel.repaint());
         }).start();
     }
 
+    // Loads preprocessing for the current map from the artifact cache, building what is missing
+    private void prepareArtifacts() {
+        int[][] mapGrid = grid;
+        try {
+            MapArtifactCache artifacts = new MapArtifactCache(MapArtifactCache.DEFAULT_ROOT, mapGrid, rows, cols);
+            long prepStart = System.nanoTime();
+            ComponentLabels labels = artifacts.components();
+            DistanceField field = artifacts.goalDistances(goal);
+            double elapsed = (System.nanoTime() - prepStart) / 1e9;
+            if (grid == mapGrid) {
+                components = labels;
+                goalDistances = field;
+            }
+            SwingUtilities.invokeLater(() -> log(String.format(" > Artifacts: %d components, goal field in %.4fs (%s)",
+                    labels.getComponentCount(), elapsed, artifacts.summary())));
+        } catch (RuntimeException e) {
+            SwingUtilities.invokeLater(() -> log("Artifact cache Error"));
+        }
+    }
+
+    // Skips the search when the labels show S and G are disconnected
+    private PathSolver guard(PathSolver solver) {
+        ComponentLabels labels = components;
+        return labels == null ? solver : labels.guard(solver, start, goal);
+    }
+
+    // Runs one engine and logs its metrics; null if it failed
+    private SolverResult runSolver(PathSolver solver) {
+        try {
+            SolverResult res = solver.run();
+            SwingUtilities.invokeLater(() -> log(" > " + solver.getName() + " Done (" + res.summary() + ")"));
+            return res;
+        } catch (Exception e) {
+            SwingUtilities.invokeLater(() -> log(solver.getName() + " Error"));
+            return null;
+        }
+    }
+
     private void loadMapAction() {
         JFileChooser fileChooser = new JFileChooser(new File("./MAZE"));
-        fileChooser.setDialogTitle("Select Maze Text File");
+        fileChooser.setDialogTitle("Select Maze File (.txt or " + BinaryMaze.EXTENSION + ")");
 
         if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
             currentMapFile = fileChooser.getSelectedFile();
-            loadAndParseMap(currentMapFile);
+            MapLoader.MapData map = loadAndParseMap(currentMapFile);
+            if (map == null) {
+                log("Failed to load " + currentMapFile.getName());
+                return;
+            }
 
             // Reset Data
             pathDijkstra = null;
             pathAStar = null;
+            goalDistances = null;
+            components = null;
             gaHistory.clear();
             mazePanel.setGAPath(null);
 
@@ -487,6 +526,7 @@ public class MainGUI extends JFrame {
             log("================================");
             log("Map Loaded: " + currentMapFile.getName());
             log("Size: " + rows + "x" + cols);
+            log("Load: " + map.summary());
 
             // Feature 5: Auto Run
             runAutoSolvers();
@@ -498,60 +538,22 @@ public class MainGUI extends JFrame {
         logArea.setCaretPosition(logArea.getDocument().getLength());
     }
 
-    private void loadAndParseMap(File file) {
-        List<String> lines = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (!line.trim().isEmpty())
-                    lines.add(line.trim());
-            }
+    // Returns null when the file cannot be read; the current map is kept then
+    private MapLoader.MapData loadAndParseMap(File file) {
+        MapLoader.MapData map;
+        try {
+            map = MapLoader.load(file);
         } catch (IOException e) {
             e.printStackTrace();
-            return;
+            return null;
         }
 
-        rows = lines.size();
-        List<List<Integer>> tempGrid = new ArrayList<>();
-        Pattern p = Pattern.compile("\"(\\d+)\"|([#SG])");
-
-        int maxCols = 0;
-        for (int r = 0; r < rows; r++) {
-            List<Integer> rowData = new ArrayList<>();
-            Matcher m = p.matcher(lines.get(r));
-            int c = 0;
-            while (m.find()) {
-                String numStr = m.group(1);
-                String charStr = m.group(2);
-                int val = 0;
-                if (numStr != null)
-                    val = Integer.parseInt(numStr);
-                else if (charStr != null) {
-                    if (charStr.equals("#"))
-                        val = -1;
-                    else if (charStr.equals("S")) {
-                        start[0] = r;
-                        start[1] = c;
-                        val = 0;
-                    } else if (charStr.equals("G")) {
-                        goal[0] = r;
-                        goal[1] = c;
-                        val = 0;
-                    }
-                }
-                rowData.add(val);
-                c++;
-            }
-            maxCols = Math.max(maxCols, c);
-            tempGrid.add(rowData);
-        }
-        cols = maxCols;
-        grid = new int[rows][cols];
-        for (int r = 0; r < rows; r++) {
-            List<Integer> row = tempGrid.get(r);
-            for (int c = 0; c < cols; c++)
-                grid[r][c] = (c < row.size()) ? row.get(c) : -1;
-        }
+        rows = map.rows;
+        cols = map.cols;
+        grid = map.grid;
+        start = map.start != null ? map.start : new int[2];
+        goal = map.goal != null ? map.goal : new int[2];
+        return map;
     }
 
     public static void main(String[] args) {
@@ -564,9 +566,9 @@ public class MainGUI extends JFrame {
 
     // --- Custom Panel for Drawing (Zoomable) ---
     class MazePanel extends JPanel {
-        private List<int[]> gaPath;
+        private GridPath gaPath;
 
-        public void setGAPath(List<int[]> path) {
+        public void setGAPath(GridPath path) {
             this.gaPath = path;
         }
 
@@ -650,7 +652,7 @@ public class MainGUI extends JFrame {
             }
         }
 
-        private void drawPath(Graphics2D g2, List<int[]> path, Color c, int cellSize, int xOff, int yOff,
+        private void drawPath(Graphics2D g2, GridPath path, Color c, int cellSize, int xOff, int yOff,
                 int thickness) {
             if (path.isEmpty())
                 return;
@@ -661,9 +663,9 @@ public class MainGUI extends JFrame {
             int[] yPoints = new int[path.size()];
 
             for (int i = 0; i < path.size(); i++) {
-                // path เก็บ {row, col} -> x=col, y=row
-                xPoints[i] = xOff + path.get(i)[1] * cellSize + cellSize / 2;
-                yPoints[i] = yOff + path.get(i)[0] * cellSize + cellSize / 2;
+                // path เก็บ cell index (r * cols + c) -> x=col, y=row
+                xPoints[i] = xOff + path.col(i) * cellSize + cellSize / 2;
+                yPoints[i] = yOff + path.row(i) * cellSize + cellSize / 2;
             }
             g2.drawPolyline(xPoints, yPoints, path.size());
         }
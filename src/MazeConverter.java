@@ -0,0 +1,54 @@
+import Algorithm.*;
+
+import java.io.*;
+
+// Converts MAZE text files to the binary .mzb format next to them.
+// Usage: java -cp bin MazeConverter <file.txt | folder> ...
+public class MazeConverter {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: java -cp bin MazeConverter <file.txt | folder> ...");
+            return;
+        }
+
+        for (String arg : args) {
+            File input = new File(arg);
+            if (input.isDirectory()) {
+                File[] files = input.listFiles((dir, name) -> name.toLowerCase().endsWith(".txt"));
+                if (files == null || files.length == 0) {
+                    System.err.println("No .txt files found in '" + arg + "'");
+                    continue;
+                }
+                java.util.Arrays.sort(files);
+                for (File f : files)
+                    convert(f);
+            } else {
+                convert(input);
+            }
+        }
+    }
+
+    private static void convert(File input) {
+        String name = input.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        File output = new File(input.getParentFile(), base + BinaryMaze.EXTENSION);
+        if (BinaryMaze.isBinary(input)) {
+            System.out.println("Skipping " + name + ": already " + BinaryMaze.EXTENSION);
+            return;
+        }
+
+        try {
+            MapLoader.MapData map = MapLoader.load(input);
+            BinaryMaze.write(map, output);
+
+            MapLoader.MapData check = MapLoader.load(output);
+            System.out.printf("%s -> %s | %dx%d | %s -> %s | text %.4fs, binary %.4fs\n", name, output.getName(),
+                    map.rows, map.cols, SolverResult.formatBytes(map.bytesRead),
+                    SolverResult.formatBytes(output.length()), map.loadTime, check.loadTime);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("❌ " + name + ": " + e.getMessage());
+        }
+    }
+}